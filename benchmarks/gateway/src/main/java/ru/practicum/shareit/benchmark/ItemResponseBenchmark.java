@@ -0,0 +1,88 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.config.JacksonConfig;
+import ru.practicum.shareit.util.JsonResponseModifier;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Нормализация ответа GET /items/{id} в шлюзе: потоковый проход JsonResponseModifier
+ * против разбора тела в Map и повторной сериализации. Прежняя цепочка делала такой
+ * круг по Map несколько раз подряд, так что mapRoundTrip — нижняя граница её стоимости.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ItemResponseBenchmark {
+    private static final TypeReference<LinkedHashMap<String, Object>> MAP_TYPE = new TypeReference<>() {
+    };
+
+    @Param({"0", "10", "100"})
+    private int comments;
+
+    private ObjectMapper objectMapper;
+    private JsonResponseModifier responseModifier;
+    private byte[] body;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        objectMapper = new JacksonConfig().objectMapper(Jackson2ObjectMapperBuilder.json());
+        responseModifier = new JsonResponseModifier(objectMapper);
+
+        Map<String, Object> item = new LinkedHashMap<>();
+        item.put("id", 1);
+        item.put("name", "Дрель");
+        item.put("description", "Аккумуляторная дрель с двумя батареями");
+        item.put("available", true);
+        item.put("lastBooking", Map.of("id", 10, "bookerId", 2, "start", "2025-01-01T10:00:00",
+                "end", "2025-01-02T10:00:00"));
+        item.put("nextBooking", Map.of("id", 11, "bookerId", 3, "start", "2025-02-01T10:00:00",
+                "end", "2025-02-02T10:00:00"));
+        if (comments > 0) {
+            List<Map<String, Object>> list = new ArrayList<>(comments);
+            for (int i = 0; i < comments; i++) {
+                list.add(Map.of("id", i + 1, "text", "Отличная дрель, спасибо " + i,
+                        "authorName", "Автор " + i, "created", "2025-01-03T12:00:00"));
+            }
+            item.put("comments", list);
+        }
+        body = objectMapper.writeValueAsBytes(item);
+    }
+
+    @Benchmark
+    public byte[] singlePass() {
+        return responseModifier.ensureItemFields(body);
+    }
+
+    @Benchmark
+    public byte[] mapRoundTrip() throws IOException {
+        Map<String, Object> item = objectMapper.readValue(body, MAP_TYPE);
+        item.put("lastBooking", null);
+        item.put("nextBooking", null);
+        item.putIfAbsent("comments", List.of());
+        return objectMapper.writeValueAsBytes(item);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,136 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import ru.practicum.shareit.config.JacksonConfig;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Путь ответа сервера через шлюз для списков бронирований: чтение тела RestTemplate
+ * и запись его клиенту теми же конвертерами, что использует Spring MVC.
+ * objectPath — прежний разбор в Object (LinkedHashMap) и повторная сериализация,
+ * bytePassThrough — текущая передача байтов без разбора в BaseClient.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponsePassThroughBenchmark {
+    @Param({"10", "1000", "10000"})
+    private int bookings;
+
+    private MappingJackson2HttpMessageConverter jsonConverter;
+    private ByteArrayHttpMessageConverter byteConverter;
+    private byte[] body;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = new JacksonConfig().objectMapper(Jackson2ObjectMapperBuilder.json());
+        jsonConverter = new MappingJackson2HttpMessageConverter(objectMapper);
+        byteConverter = new ByteArrayHttpMessageConverter();
+
+        List<Map<String, Object>> list = new ArrayList<>(bookings);
+        for (int i = 0; i < bookings; i++) {
+            Map<String, Object> booking = new LinkedHashMap<>();
+            booking.put("id", i + 1);
+            booking.put("start", "2025-01-01T10:00:00");
+            booking.put("end", "2025-01-02T10:00:00");
+            booking.put("status", "APPROVED");
+            booking.put("booker", Map.of("id", 2, "name", "Booker", "email", "booker@bench.ru"));
+            booking.put("item", Map.of("id", i + 1, "name", "Дрель " + i,
+                    "description", "Аккумуляторная дрель " + i, "available", true, "comments", List.of()));
+            list.add(booking);
+        }
+        body = objectMapper.writeValueAsBytes(list);
+    }
+
+    @Benchmark
+    public byte[] objectPath() throws IOException {
+        Object response = jsonConverter.read(Object.class, new InMemoryInputMessage(body));
+        InMemoryOutputMessage output = new InMemoryOutputMessage(body.length);
+        jsonConverter.write(response, MediaType.APPLICATION_JSON, output);
+        return output.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] bytePassThrough() throws IOException {
+        byte[] response = byteConverter.read(byte[].class, new InMemoryInputMessage(body));
+        InMemoryOutputMessage output = new InMemoryOutputMessage(body.length);
+        byteConverter.write(response, MediaType.APPLICATION_JSON, output);
+        return output.toByteArray();
+    }
+
+    private static final class InMemoryInputMessage implements HttpInputMessage {
+        private final byte[] body;
+        private final HttpHeaders headers = new HttpHeaders();
+
+        private InMemoryInputMessage(byte[] body) {
+            this.body = body;
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            headers.setContentLength(body.length);
+        }
+
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+
+    private static final class InMemoryOutputMessage implements HttpOutputMessage {
+        private final ByteArrayOutputStream body;
+        private final HttpHeaders headers = new HttpHeaders();
+
+        private InMemoryOutputMessage(int size) {
+            this.body = new ByteArrayOutputStream(size);
+        }
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        private byte[] toByteArray() {
+            return body.toByteArray();
+        }
+    }
+}
\ No newline at end of file
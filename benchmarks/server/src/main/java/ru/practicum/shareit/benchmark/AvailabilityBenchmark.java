@@ -0,0 +1,110 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.availability.ItemAvailabilityIndex;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Проверка занятости вещи на интервале: индекс в памяти против запроса existsOverlapping.
+ * Вещи и интервалы запросов выбираются по кругу из заранее сгенерированного набора.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AvailabilityBenchmark {
+    private static final int QUERIES = 1024;
+
+    @Param({"1000"})
+    private int itemCount;
+
+    @Param({"50"})
+    private int bookingsPerItem;
+
+    private BenchmarkDatabase database;
+    private ItemAvailabilityIndex availabilityIndex;
+    private BookingRepository bookingRepository;
+
+    private long[] itemIds;
+    private LocalDateTime[] starts;
+    private LocalDateTime[] ends;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = BenchmarkDatabase.start();
+        availabilityIndex = database.bean(ItemAvailabilityIndex.class);
+        bookingRepository = database.bean(BookingRepository.class);
+
+        long ownerId = database.createUser("Owner");
+        long bookerId = database.createUser("Booker");
+        List<Long> ids = database.createItems(ownerId, itemCount, i -> "Вещь " + i, i -> "Описание вещи " + i);
+
+        // Бронирования по суткам через день: половина запросов попадает на свободный интервал
+        LocalDateTime base = LocalDateTime.now().plusDays(1);
+        List<BenchmarkDatabase.BookingRow> bookings = new ArrayList<>(itemCount * bookingsPerItem);
+        for (Long itemId : ids) {
+            for (int i = 0; i < bookingsPerItem; i++) {
+                LocalDateTime start = base.plusDays(2L * i);
+                bookings.add(new BenchmarkDatabase.BookingRow(itemId, bookerId, start, start.plusDays(1),
+                        i % 2 == 0 ? BookingStatus.APPROVED : BookingStatus.WAITING));
+            }
+        }
+        database.createBookings(bookings);
+        availabilityIndex.warmUp();
+
+        Random random = new Random(42);
+        itemIds = new long[QUERIES];
+        starts = new LocalDateTime[QUERIES];
+        ends = new LocalDateTime[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            itemIds[i] = ids.get(random.nextInt(ids.size()));
+            starts[i] = base.plusHours(random.nextInt(bookingsPerItem * 48));
+            ends[i] = starts[i].plusHours(6);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    public boolean index() {
+        int i = next();
+        return availabilityIndex.isAvailable(itemIds[i], starts[i], ends[i]);
+    }
+
+    @Benchmark
+    public boolean sql() {
+        int i = next();
+        return !bookingRepository.existsOverlapping(itemIds[i], starts[i], ends[i],
+                ItemAvailabilityIndex.OCCUPYING_STATUSES);
+    }
+
+    private int next() {
+        cursor = (cursor + 1) & (QUERIES - 1);
+        return cursor;
+    }
+}
\ No newline at end of file
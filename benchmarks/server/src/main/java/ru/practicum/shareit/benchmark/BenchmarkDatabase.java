@@ -0,0 +1,114 @@
+package ru.practicum.shareit.benchmark;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItServerApp;
+import ru.practicum.shareit.booking.BookingStatus;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.IntFunction;
+
+/**
+ * Контекст сервера поверх отдельной базы H2 в памяти и наполнение её данными.
+ * Данные вставляются пакетами через JDBC, минуя сервисы, чтобы подготовка
+ * больших наборов не занимала больше времени, чем сам прогон.
+ */
+final class BenchmarkDatabase implements AutoCloseable {
+    private static final int BATCH_SIZE = 1000;
+
+    private final ConfigurableApplicationContext context;
+    private final JdbcTemplate jdbcTemplate;
+
+    private BenchmarkDatabase(ConfigurableApplicationContext context) {
+        this.context = context;
+        this.jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    static BenchmarkDatabase start() {
+        // Аргументы командной строки перекрывают application.properties сервера
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ShareItServerApp.class)
+                .run("--spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID() + ";MODE=PostgreSQL",
+                        "--spring.datasource.driverClassName=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.sql.init.mode=never",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.format_sql=false",
+                        "--spring.jpa.properties.hibernate.use_sql_comments=false",
+                        "--spring.main.web-application-type=none",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN",
+                        "--logging.level.ru.practicum.shareit=WARN",
+                        "--logging.level.org.springframework.transaction.interceptor=WARN",
+                        "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN");
+        return new BenchmarkDatabase(context);
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    long createUser(String name) {
+        jdbcTemplate.update("INSERT INTO users (name, email) VALUES (?, ?)",
+                name, name.toLowerCase().replace(' ', '.') + "@bench.ru");
+        return lastId("users");
+    }
+
+    /**
+     * Создаёт вещи владельца; названия и описания задаются генератором по номеру вещи.
+     */
+    List<Long> createItems(long ownerId, int count, IntFunction<String> names, IntFunction<String> descriptions) {
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[]{names.apply(i), descriptions.apply(i), true, ownerId});
+        }
+        long before = lastId("items");
+        batch("INSERT INTO items (name, description, available, owner_id) VALUES (?, ?, ?, ?)", rows);
+        return jdbcTemplate.queryForList("SELECT id FROM items WHERE id > ? ORDER BY id", Long.class, before);
+    }
+
+    void createBookings(List<BookingRow> bookings) {
+        batch("INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) VALUES (?, ?, ?, ?, ?)",
+                bookings.stream()
+                        .map(row -> new Object[]{Timestamp.valueOf(row.start()), Timestamp.valueOf(row.end()),
+                                row.itemId(), row.bookerId(), row.status().name()})
+                        .toList());
+    }
+
+    void createComments(List<Long> itemIds, long authorId, int perItem) {
+        Timestamp created = Timestamp.valueOf(LocalDateTime.now().minusDays(1));
+        List<Object[]> rows = new ArrayList<>(itemIds.size() * perItem);
+        for (Long itemId : itemIds) {
+            for (int i = 0; i < perItem; i++) {
+                rows.add(new Object[]{"Отзыв " + i + " о вещи " + itemId, itemId, authorId, created});
+            }
+        }
+        batch("INSERT INTO comments (text, item_id, author_id, created) VALUES (?, ?, ?, ?)", rows);
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+
+    private void batch(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(rows.size(), from + BATCH_SIZE)));
+        }
+    }
+
+    private long lastId(String table) {
+        Long id = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        return id == null ? 0 : id;
+    }
+
+    record BookingRow(long itemId, long bookerId, LocalDateTime start, LocalDateTime end, BookingStatus status) {
+    }
+}
\ No newline at end of file
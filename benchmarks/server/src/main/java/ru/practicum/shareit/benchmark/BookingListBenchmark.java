@@ -0,0 +1,109 @@
+package ru.practicum.shareit.benchmark;
+
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.BookingRole;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Страница бронирований пользователя размером pageSize: проекция BookingView против загрузки
+ * управляемых сущностей Booking с item, booker и запросом вещи. Основная метрика — аллокации,
+ * поэтому запускать с профилировщиком GC: -Djmh.args="BookingListBenchmark -prof gc".
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BookingListBenchmark {
+    private static final int ITEMS = 100;
+    private static final String ENTITY_QUERY = "SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker " +
+            "LEFT JOIN FETCH i.request r LEFT JOIN FETCH r.requestor " +
+            "WHERE b.booker.id = :bookerId ORDER BY b.start DESC";
+
+    @Param({"10000"})
+    private int pageSize;
+
+    private BenchmarkDatabase database;
+    private BookingRepository bookingRepository;
+    private BookingMapper bookingMapper;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnlyTransaction;
+    private long bookerId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = BenchmarkDatabase.start();
+        bookingRepository = database.bean(BookingRepository.class);
+        bookingMapper = database.bean(BookingMapper.class);
+        entityManager = database.bean(EntityManager.class);
+        readOnlyTransaction = new TransactionTemplate(database.bean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+
+        long ownerId = database.createUser("Owner");
+        bookerId = database.createUser("Booker");
+        List<Long> itemIds = database.createItems(ownerId, ITEMS, i -> "Вещь " + i, i -> "Описание вещи " + i);
+
+        LocalDateTime base = LocalDateTime.now().minusYears(1);
+        List<BenchmarkDatabase.BookingRow> bookings = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            LocalDateTime start = base.plusHours(i);
+            bookings.add(new BenchmarkDatabase.BookingRow(itemIds.get(i % ITEMS), bookerId,
+                    start, start.plusHours(1), BookingStatus.APPROVED));
+        }
+        database.createBookings(bookings);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    public List<BookingDto> views() {
+        PageRequest pageRequest = PageRequest.of(0, pageSize, Sort.by("start").descending());
+        return readOnlyTransaction.execute(status -> bookingRepository.findViews(BookingRole.BOOKER, bookerId,
+                        BookingState.ALL, LocalDateTime.now(), pageRequest)
+                .stream()
+                .map(bookingMapper::toBookingDto)
+                .toList());
+    }
+
+    @Benchmark
+    public List<BookingDto> entities() {
+        return readOnlyTransaction.execute(status -> entityManager.createQuery(ENTITY_QUERY, Booking.class)
+                .setParameter("bookerId", bookerId)
+                .setMaxResults(pageSize)
+                .getResultList()
+                .stream()
+                .map(bookingMapper::toBookingDto)
+                .toList());
+    }
+}
\ No newline at end of file
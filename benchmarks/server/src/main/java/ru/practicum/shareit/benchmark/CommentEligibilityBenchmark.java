@@ -0,0 +1,118 @@
+package ru.practicum.shareit.benchmark;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Проверка права оставить отзыв у пользователя с bookings завершёнными бронированиями вещи:
+ * прежняя (загрузка вещи и пользователя, затем COUNT по всем бронированиям) против EXISTS,
+ * который останавливается на первом бронировании из индекса и заодно возвращает имя автора.
+ * createComment — полный путь добавления отзыва с новой проверкой.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CommentEligibilityBenchmark {
+    private static final String COUNT_ELIGIBILITY = "SELECT COUNT(b) > 0 FROM Booking b " +
+            "WHERE b.booker.id = :userId AND b.item.id = :itemId AND b.end < :now AND b.status = 'APPROVED'";
+
+    @Param({"1", "100", "10000"})
+    private int bookings;
+
+    private BenchmarkDatabase database;
+    private ItemService itemService;
+    private BookingRepository bookingRepository;
+    private ItemRepository itemRepository;
+    private UserRepository userRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnlyTransaction;
+    private long itemId;
+    private long bookerId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = BenchmarkDatabase.start();
+        itemService = database.bean(ItemService.class);
+        bookingRepository = database.bean(BookingRepository.class);
+        itemRepository = database.bean(ItemRepository.class);
+        userRepository = database.bean(UserRepository.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(database.bean(EntityManagerFactory.class));
+        readOnlyTransaction = new TransactionTemplate(database.bean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+
+        long ownerId = database.createUser("Owner");
+        bookerId = database.createUser("Booker");
+        itemId = database.createItems(ownerId, 1, i -> "Вещь " + i, i -> "Описание вещи " + i).get(0);
+
+        // Аренды по выходным: каждое бронирование на двое суток, неделя за неделей в прошлом
+        LocalDateTime base = LocalDateTime.now().withNano(0).minusWeeks(bookings + 1L);
+        List<BenchmarkDatabase.BookingRow> rows = new ArrayList<>(bookings);
+        for (int i = 0; i < bookings; i++) {
+            LocalDateTime start = base.plusWeeks(i);
+            rows.add(new BenchmarkDatabase.BookingRow(itemId, bookerId, start, start.plusDays(2), BookingStatus.APPROVED));
+        }
+        database.createBookings(rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    public boolean countEligibility() {
+        return Boolean.TRUE.equals(readOnlyTransaction.execute(status -> {
+            Item item = itemRepository.findById(itemId).orElseThrow();
+            User user = userRepository.findById(bookerId).orElseThrow();
+            return entityManager.createQuery(COUNT_ELIGIBILITY, Boolean.class)
+                    .setParameter("userId", user.getId())
+                    .setParameter("itemId", item.getId())
+                    .setParameter("now", LocalDateTime.now())
+                    .getSingleResult();
+        }));
+    }
+
+    @Benchmark
+    public boolean existsEligibility() {
+        return Boolean.TRUE.equals(readOnlyTransaction.execute(status -> {
+            return bookingRepository.findEligibleAuthorName(bookerId, itemId, LocalDateTime.now()).isPresent();
+        }));
+    }
+
+    @Benchmark
+    public CommentDto createComment() {
+        return itemService.createComment(itemId, CommentDto.builder().text("Отзыв").build(), bookerId);
+    }
+}
@@ -0,0 +1,90 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Поиск вещей /items/search и /items/search/available на сгенерированном каталоге из itemCount вещей.
+ * Частое слово встречается в названии каждой восьмой вещи, редкое — ровно у одной.
+ * Каждая четвёртая вещь занята на интервале поиска свободных.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ItemSearchBenchmark {
+    private static final String[] WORDS = {
+            "Дрель", "Палатка", "Велосипед", "Лестница", "Шуруповёрт", "Проектор", "Байдарка", "Мангал"
+    };
+    private static final String RARE_WORD = "перфоратор";
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"10000", "100000"})
+    private int itemCount;
+
+    @Param({"дрель", RARE_WORD})
+    private String text;
+
+    private BenchmarkDatabase database;
+    private ItemService itemService;
+    private LocalDateTime start;
+    private LocalDateTime end;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = BenchmarkDatabase.start();
+        itemService = database.bean(ItemService.class);
+
+        long ownerId = database.createUser("Owner");
+        long bookerId = database.createUser("Booker");
+        int rareIndex = itemCount / 2;
+        List<Long> itemIds = database.createItems(ownerId, itemCount,
+                i -> i == rareIndex ? "Перфоратор " + i : WORDS[i % WORDS.length] + " " + i,
+                i -> "Описание вещи " + i + " для аренды на выходные");
+
+        start = LocalDateTime.now().plusDays(10);
+        end = start.plusDays(2);
+        List<BenchmarkDatabase.BookingRow> bookings = new ArrayList<>(itemIds.size() / 4 + 1);
+        for (int i = 0; i < itemIds.size(); i += 4) {
+            bookings.add(new BenchmarkDatabase.BookingRow(itemIds.get(i), bookerId,
+                    start.minusDays(1), start.plusDays(1), BookingStatus.APPROVED));
+        }
+        database.createBookings(bookings);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    public List<ItemDto> search() {
+        return itemService.search(text, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<ItemDto> searchAvailable() {
+        return itemService.searchAvailable(text, start, end, 0, PAGE_SIZE);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,77 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ItemServiceImpl.getAll на заполненной базе H2: у каждой вещи владельца есть прошедшее
+ * и будущее подтверждённые бронирования и несколько отзывов. Время ответа не должно
+ * расти быстрее числа вещей: последние и следующие бронирования читаются пакетно.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ItemServiceBenchmark {
+    private static final int COMMENTS_PER_ITEM = 3;
+
+    @Param({"10", "100", "1000"})
+    private int itemCount;
+
+    private BenchmarkDatabase database;
+    private ItemService itemService;
+    private long ownerId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = BenchmarkDatabase.start();
+        itemService = database.bean(ItemService.class);
+
+        ownerId = database.createUser("Owner");
+        long bookerId = database.createUser("Booker");
+        List<Long> itemIds = database.createItems(ownerId, itemCount,
+                i -> "Вещь " + i, i -> "Описание вещи " + i);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<BenchmarkDatabase.BookingRow> bookings = new ArrayList<>(itemIds.size() * 2);
+        for (Long itemId : itemIds) {
+            bookings.add(new BenchmarkDatabase.BookingRow(itemId, bookerId,
+                    now.minusDays(3), now.minusDays(2), BookingStatus.APPROVED));
+            bookings.add(new BenchmarkDatabase.BookingRow(itemId, bookerId,
+                    now.plusDays(2), now.plusDays(3), BookingStatus.APPROVED));
+        }
+        database.createBookings(bookings);
+        database.createComments(itemIds, bookerId, COMMENTS_PER_ITEM);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    public List<ItemDto> getAll() {
+        return itemService.getAll(ownerId);
+    }
+}
\ No newline at end of file
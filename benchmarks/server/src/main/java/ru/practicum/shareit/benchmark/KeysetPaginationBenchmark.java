@@ -0,0 +1,104 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.BookingCursor;
+import ru.practicum.shareit.booking.BookingRole;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Страница из PAGE_SIZE бронирований пользователя на глубине depth: OFFSET против курсора
+ * after=<start,id>. Время offset растёт вместе с depth, время keyset от depth не зависит.
+ * Наполнение базы на миллион строк занимает около минуты на каждое значение depth.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class KeysetPaginationBenchmark {
+    private static final int ITEMS = 100;
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"0", "10000", "1000000"})
+    private int depth;
+
+    private BenchmarkDatabase database;
+    private BookingRepository bookingRepository;
+    private TransactionTemplate readOnlyTransaction;
+    private long bookerId;
+    private PageRequest pageRequest;
+    private BookingCursor cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = BenchmarkDatabase.start();
+        bookingRepository = database.bean(BookingRepository.class);
+        readOnlyTransaction = new TransactionTemplate(database.bean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+
+        long ownerId = database.createUser("Owner");
+        bookerId = database.createUser("Booker");
+        List<Long> itemIds = database.createItems(ownerId, ITEMS, i -> "Вещь " + i, i -> "Описание вещи " + i);
+
+        int total = depth + PAGE_SIZE;
+        LocalDateTime base = LocalDateTime.now().withNano(0).minusMinutes(total);
+        List<BenchmarkDatabase.BookingRow> bookings = new ArrayList<>(total);
+        for (int i = 0; i < total; i++) {
+            LocalDateTime start = base.plusMinutes(i);
+            bookings.add(new BenchmarkDatabase.BookingRow(itemIds.get(i % ITEMS), bookerId,
+                    start, start.plusMinutes(1), BookingStatus.APPROVED));
+        }
+        database.createBookings(bookings);
+
+        pageRequest = PageRequest.of(depth / PAGE_SIZE, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "start", "id"));
+        // Курсор — последняя строка перед искомой страницей, как его передал бы клиент
+        cursor = depth == 0 ? null : database.bean(JdbcTemplate.class).queryForObject(
+                "SELECT start_date, id FROM bookings WHERE booker_id = ? " +
+                        "ORDER BY start_date DESC, id DESC OFFSET ? ROWS FETCH FIRST 1 ROWS ONLY",
+                (rs, rowNum) -> new BookingCursor(rs.getTimestamp(1).toLocalDateTime(), rs.getLong(2)),
+                bookerId, depth - 1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    public List<BookingView> offset() {
+        return readOnlyTransaction.execute(status -> bookingRepository.findViews(BookingRole.BOOKER, bookerId,
+                BookingState.ALL, LocalDateTime.now(), pageRequest));
+    }
+
+    @Benchmark
+    public List<BookingView> keyset() {
+        return readOnlyTransaction.execute(status -> bookingRepository.findViewsAfter(BookingRole.BOOKER, bookerId,
+                BookingState.ALL, LocalDateTime.now(), cursor, PAGE_SIZE));
+    }
+}
@@ -0,0 +1,149 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.BookingMapperImpl;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.CommentMapper;
+import ru.practicum.shareit.item.CommentMapperImpl;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.ItemMapperImpl;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.UserMapperImpl;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Пропускная способность мапперов MapStruct на списке из size элементов:
+ * сущности и BookingView в DTO, как в списочных ответах сервера.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+    @Param({"100"})
+    private int size;
+
+    private AnnotationConfigApplicationContext context;
+    private BookingMapper bookingMapper;
+    private ItemMapper itemMapper;
+    private CommentMapper commentMapper;
+
+    private List<Booking> bookings;
+    private List<BookingView> views;
+    private List<Item> items;
+    private List<Comment> comments;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Реализации ссылаются друг на друга через внедрение зависимостей, поэтому собираются в контексте Spring
+        context = new AnnotationConfigApplicationContext(
+                BookingMapperImpl.class, ItemMapperImpl.class, UserMapperImpl.class, CommentMapperImpl.class);
+        bookingMapper = context.getBean(BookingMapper.class);
+        itemMapper = context.getBean(ItemMapper.class);
+        commentMapper = context.getBean(CommentMapper.class);
+
+        LocalDateTime now = LocalDateTime.now();
+        User owner = User.builder().id(1L).name("Owner").email("owner@bench.ru").build();
+        User booker = User.builder().id(2L).name("Booker").email("booker@bench.ru").build();
+        ItemRequest request = ItemRequest.builder()
+                .id(1L)
+                .description("Нужна дрель")
+                .created(now.minusDays(3))
+                .requestor(booker)
+                .build();
+
+        bookings = new ArrayList<>(size);
+        views = new ArrayList<>(size);
+        items = new ArrayList<>(size);
+        comments = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            long id = i + 1;
+            Item item = Item.builder()
+                    .id(id)
+                    .name("Дрель " + i)
+                    .description("Аккумуляторная дрель " + i)
+                    .available(true)
+                    .owner(owner)
+                    .request(i % 2 == 0 ? request : null)
+                    .build();
+            items.add(item);
+            bookings.add(Booking.builder()
+                    .id(id)
+                    .start(now.plusDays(i))
+                    .end(now.plusDays(i + 1))
+                    .item(item)
+                    .booker(booker)
+                    .status(BookingStatus.APPROVED)
+                    .build());
+            views.add(new BookingView(id, now.plusDays(i), now.plusDays(i + 1), BookingStatus.APPROVED,
+                    item.getId(), item.getName(), item.getDescription(), item.getAvailable(),
+                    item.getRequest() == null ? null : request.getId(),
+                    item.getRequest() == null ? null : request.getDescription(),
+                    item.getRequest() == null ? null : request.getCreated(),
+                    item.getRequest() == null ? null : booker.getId(),
+                    item.getRequest() == null ? null : booker.getName(),
+                    item.getRequest() == null ? null : booker.getEmail(),
+                    booker.getId(), booker.getName(), booker.getEmail()));
+            comments.add(Comment.builder()
+                    .id(id)
+                    .text("Отзыв " + i)
+                    .item(item)
+                    .author(booker)
+                    .created(now.minusDays(1))
+                    .build());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<BookingDto> bookingToDto() {
+        return bookings.stream().map(bookingMapper::toBookingDto).toList();
+    }
+
+    @Benchmark
+    public List<BookingDto> bookingViewToDto() {
+        return views.stream().map(bookingMapper::toBookingDto).toList();
+    }
+
+    @Benchmark
+    public List<ItemDto> itemToDto() {
+        return items.stream().map(itemMapper::toItemDto).toList();
+    }
+
+    @Benchmark
+    public List<CommentDto> commentToDto() {
+        return comments.stream().map(commentMapper::toCommentDto).toList();
+    }
+}
\ No newline at end of file
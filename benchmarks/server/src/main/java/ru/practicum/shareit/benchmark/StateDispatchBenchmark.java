@@ -0,0 +1,140 @@
+package ru.practicum.shareit.benchmark;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.BookingRole;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Список бронирований владельца по состоянию: прежняя цепочка обработчиков (перебор до первого
+ * подходящего и отдельный запрос у каждого, статус — параметром) против BookingRepository.findViews,
+ * где текст запроса выбирается из EnumMap. Прежние обработчики удалены из сервера, поэтому
+ * здесь воспроизведены их порядок и запросы.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StateDispatchBenchmark {
+    private static final int ITEMS = 50;
+    private static final int BOOKINGS = 5000;
+    private static final String VIEW_SELECT = "SELECT new ru.practicum.shareit.booking.dto.BookingView(" +
+            "b.id, b.start, b.end, b.status, " +
+            "i.id, i.name, i.description, i.available, " +
+            "r.id, r.description, r.created, rq.id, rq.name, rq.email, " +
+            "u.id, u.name, u.email) " +
+            "FROM Booking b JOIN b.item i JOIN b.booker u " +
+            "LEFT JOIN i.request r LEFT JOIN r.requestor rq " +
+            "WHERE b.item.id IN (SELECT o.id FROM Item o WHERE o.owner.id = :ownerId)";
+    private static final String ORDER = " ORDER BY b.start DESC";
+
+    @Param({"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"})
+    private BookingState state;
+
+    private BenchmarkDatabase database;
+    private BookingRepository bookingRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnlyTransaction;
+    private List<LegacyHandler> handlers;
+    private PageRequest pageRequest;
+    private long ownerId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = BenchmarkDatabase.start();
+        bookingRepository = database.bean(BookingRepository.class);
+        entityManager = database.bean(EntityManager.class);
+        readOnlyTransaction = new TransactionTemplate(database.bean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+
+        ownerId = database.createUser("Owner");
+        long bookerId = database.createUser("Booker");
+        List<Long> itemIds = database.createItems(ownerId, ITEMS, i -> "Вещь " + i, i -> "Описание вещи " + i);
+
+        BookingStatus[] statuses = BookingStatus.values();
+        LocalDateTime base = LocalDateTime.now().minusHours(BOOKINGS / 2);
+        List<BenchmarkDatabase.BookingRow> bookings = new ArrayList<>(BOOKINGS);
+        for (int i = 0; i < BOOKINGS; i++) {
+            LocalDateTime start = base.plusHours(i);
+            bookings.add(new BenchmarkDatabase.BookingRow(itemIds.get(i % ITEMS), bookerId,
+                    start, start.plusHours(3), statuses[i % statuses.length]));
+        }
+        database.createBookings(bookings);
+
+        // Порядок @Order прежних обработчиков владельца
+        handlers = List.of(
+                new LegacyHandler(BookingState.ALL, "", false, null),
+                new LegacyHandler(BookingState.CURRENT, " AND b.start < :now AND b.end > :now", true, null),
+                new LegacyHandler(BookingState.PAST, " AND b.end < :now", true, null),
+                new LegacyHandler(BookingState.FUTURE, " AND b.start > :now", true, null),
+                new LegacyHandler(BookingState.WAITING, " AND b.status = :status", false, BookingStatus.WAITING),
+                new LegacyHandler(BookingState.REJECTED, " AND b.status = :status", false, BookingStatus.REJECTED));
+        pageRequest = PageRequest.of(0, 20, Sort.by("start").descending());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    public List<BookingView> handlers() {
+        LocalDateTime now = LocalDateTime.now();
+        return readOnlyTransaction.execute(status -> handlers.stream()
+                .filter(handler -> handler.state() == state)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Неизвестный статус: " + state))
+                .find(entityManager, ownerId, now, pageRequest));
+    }
+
+    @Benchmark
+    public List<BookingView> singleQuery() {
+        LocalDateTime now = LocalDateTime.now();
+        return readOnlyTransaction.execute(status ->
+                bookingRepository.findViews(BookingRole.OWNER, ownerId, state, now, pageRequest));
+    }
+
+    private record LegacyHandler(BookingState state, String condition, boolean usesNow, BookingStatus status) {
+        List<BookingView> find(EntityManager entityManager, long ownerId, LocalDateTime now, PageRequest page) {
+            TypedQuery<BookingView> query = entityManager
+                    .createQuery(VIEW_SELECT + condition + ORDER, BookingView.class)
+                    .setParameter("ownerId", ownerId)
+                    .setFirstResult((int) page.getOffset())
+                    .setMaxResults(page.getPageSize());
+            if (usesNow) {
+                query.setParameter("now", now);
+            }
+            if (status != null) {
+                query.setParameter("status", status);
+            }
+            return query.getResultList();
+        }
+    }
+}
\ No newline at end of file
@@ -11,6 +11,7 @@ import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.client.BaseClient;
 
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -18,11 +19,13 @@ public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl,
+                         RestTemplateBuilder builder,
+                         HttpComponentsClientHttpRequestFactory shareItRequestFactory) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
+                        .requestFactory(() -> shareItRequestFactory)
                         .build()
         );
     }
@@ -36,6 +39,11 @@ public class BookingClient extends BaseClient {
         return patch("/" + bookingId + "?approved={approved}", userId, parameters, null);
     }
 
+    public ResponseEntity<Object> approveAll(List<Long> bookingIds, long userId, Boolean approved) {
+        Map<String, Object> parameters = Map.of("approved", approved);
+        return patch("?approved={approved}", userId, parameters, bookingIds);
+    }
+
     public ResponseEntity<Object> getById(long bookingId, long userId) {
         return get("/" + bookingId, userId);
     }
@@ -49,6 +57,15 @@ public class BookingClient extends BaseClient {
         return get("?state={state}&from={from}&size={size}", userId, parameters);
     }
 
+    public ResponseEntity<Object> getPageByBooker(long userId, BookingState state, String after, int size) {
+        Map<String, Object> parameters = Map.of(
+                "state", state.name(),
+                "after", after == null ? "" : after,
+                "size", size
+        );
+        return get("?state={state}&after={after}&size={size}", userId, parameters);
+    }
+
     public ResponseEntity<Object> getAllByOwner(long userId, BookingState state, int from, int size) {
         Map<String, Object> parameters = Map.of(
                 "state", state.name(),
@@ -57,4 +74,13 @@ public class BookingClient extends BaseClient {
         );
         return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
     }
+
+    public ResponseEntity<Object> getPageByOwner(long userId, BookingState state, String after, int size) {
+        Map<String, Object> parameters = Map.of(
+                "state", state.name(),
+                "after", after == null ? "" : after,
+                "size", size
+        );
+        return get("/owner?state={state}&after={after}&size={size}", userId, parameters);
+    }
 }
\ No newline at end of file
@@ -23,12 +23,18 @@ import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.util.Constants;
 
+import java.util.List;
+import java.util.Objects;
+
 @Controller
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
 @Slf4j
 @Validated
 public class BookingController {
+    // Столько же бронирований принимает сервер за один запрос
+    private static final int MAX_BULK_APPROVAL = 1000;
+
     private final BookingClient bookingClient;
 
     @PostMapping
@@ -47,6 +53,18 @@ public class BookingController {
         return bookingClient.approve(bookingId, userId, approved);
     }
 
+    @PatchMapping
+    public ResponseEntity<Object> approveAll(@RequestBody List<Long> bookingIds,
+                                             @RequestHeader(Constants.USER_ID_HEADER) Long userId,
+                                             @RequestParam Boolean approved) {
+        if (bookingIds.isEmpty() || bookingIds.size() > MAX_BULK_APPROVAL
+                || bookingIds.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Укажите от 1 до " + MAX_BULK_APPROVAL + " id бронирований");
+        }
+        log.info("Patch {} bookings, userId={}, approved={}", bookingIds.size(), userId, approved);
+        return bookingClient.approveAll(bookingIds, userId, approved);
+    }
+
     @GetMapping("/{bookingId}")
     public ResponseEntity<Object> getById(@PathVariable Long bookingId,
                                           @RequestHeader(Constants.USER_ID_HEADER) Long userId) {
@@ -66,6 +84,18 @@ public class BookingController {
         return bookingClient.getAllByBooker(userId, state, from, size);
     }
 
+    @GetMapping(params = "after")
+    public ResponseEntity<Object> getPageByBooker(
+            @RequestHeader(Constants.USER_ID_HEADER) Long userId,
+            @RequestParam(name = "state", defaultValue = "all") String stateParam,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") @Positive int size) {
+        BookingState state = BookingState.from(stateParam)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
+        log.info("Get bookings page by booker userId={}, state={}, after={}, size={}", userId, state, after, size);
+        return bookingClient.getPageByBooker(userId, state, after, size);
+    }
+
     @GetMapping("/owner")
     public ResponseEntity<Object> getAllByOwner(
             @RequestHeader(Constants.USER_ID_HEADER) Long userId,
@@ -77,4 +107,16 @@ public class BookingController {
         log.info("Get bookings by owner userId={}, state={}, from={}, size={}", userId, state, from, size);
         return bookingClient.getAllByOwner(userId, state, from, size);
     }
+
+    @GetMapping(value = "/owner", params = "after")
+    public ResponseEntity<Object> getPageByOwner(
+            @RequestHeader(Constants.USER_ID_HEADER) Long userId,
+            @RequestParam(name = "state", defaultValue = "all") String stateParam,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") @Positive int size) {
+        BookingState state = BookingState.from(stateParam)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
+        log.info("Get bookings page by owner userId={}, state={}, after={}, size={}", userId, state, after, size);
+        return bookingClient.getPageByOwner(userId, state, after, size);
+    }
 }
\ No newline at end of file
@@ -5,25 +5,48 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.metrics.GatewayTiming;
+import ru.practicum.shareit.util.Constants;
 
+import java.io.IOException;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public class BaseClient {
-    protected final RestTemplate rest;
-    protected final ResponseModifier responseModifier;
+    // Hop-by-hop заголовки из RFC 7230 (раздел 6.1): относятся к соединению между шлюзом
+    // и сервером, а не к ответу клиенту
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of(
+            HttpHeaders.CONNECTION,
+            "Keep-Alive",
+            HttpHeaders.PROXY_AUTHENTICATE,
+            HttpHeaders.PROXY_AUTHORIZATION,
+            HttpHeaders.TE,
+            HttpHeaders.TRAILER,
+            HttpHeaders.TRANSFER_ENCODING,
+            HttpHeaders.UPGRADE
+    );
+
+    // Заголовки, которые шлюз выставляет в ответе сам: X-Request-Id своего запроса
+    // и длину тела, которое он сериализует заново
+    private static final Set<String> GATEWAY_REWRITTEN_HEADERS = Set.of(
+            Constants.REQUEST_ID_HEADER,
+            HttpHeaders.CONTENT_LENGTH
+    );
 
-    public BaseClient(RestTemplate rest, ResponseModifier responseModifier) {
-        this.rest = rest;
-        this.responseModifier = responseModifier;
-    }
+    protected final RestTemplate rest;
 
     public BaseClient(RestTemplate rest) {
         this.rest = rest;
-        this.responseModifier = null;
     }
 
     protected ResponseEntity<Object> get(String path) {
@@ -35,11 +58,11 @@ public class BaseClient {
     }
 
     protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
-        ResponseEntity<Object> response = makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
-        if (responseModifier != null && path.matches("/\\d+")) {
-            return responseModifier.modifyItemResponse(response, path);
-        }
-        return response;
+        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
+    }
+
+    protected ResponseEntity<byte[]> getRaw(String path, Long userId) {
+        return makeAndSendRequest(HttpMethod.GET, path, userId, null, null, byte[].class);
     }
 
     protected <T> ResponseEntity<Object> post(String path, T body) {
@@ -78,19 +101,92 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
+    /**
+     * Потоковый GET для больших ответов (выгрузок): тело сервера не буферизуется, а копируется клиенту
+     * по мере чтения; заголовки запроса, X-Request-Id, фильтрация заголовков ответа и учёт upstream
+     * в GatewayTiming — те же, что у остальных вызовов. Статус сервера проверяется до начала передачи:
+     * ошибка возвращается клиенту своим статусом и телом, а не обрезанным 200. Сбой сервера посреди
+     * передачи пробрасывается исключением, контейнер обрывает ответ без завершающего чанка, и клиент
+     * видит незавершённую передачу, а не корректно закрытый файл.
+     */
+    protected ResponseEntity<StreamingResponseBody> stream(String path, Long userId, MediaType accept) {
+        HttpHeaders requestHeaders = defaultHeaders(userId);
+        requestHeaders.setAccept(List.of(accept));
+
+        GatewayTiming timing = GatewayTiming.current();
+        long startedAt = timing == null ? 0 : timing.upstreamStarted();
+        ClientHttpResponse response;
+        try {
+            // Фабрика RestTemplate уже включает перехватчики, в том числе UpstreamBulkhead
+            ClientHttpRequest request = rest.getRequestFactory()
+                    .createRequest(rest.getUriTemplateHandler().expand(path), HttpMethod.GET);
+            request.getHeaders().addAll(requestHeaders);
+            response = request.execute();
+        } catch (IOException e) {
+            throw new ResourceAccessException("Ошибка вызова сервера " + path + ": " + e.getMessage(), e);
+        } finally {
+            // Для потока upstream — время до статуса и заголовков сервера, передача тела идёт вне запроса
+            if (timing != null) {
+                timing.upstreamFinished(startedAt);
+            }
+        }
+
+        try {
+            ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode())
+                    .headers(forwardedHeaders(response.getHeaders()));
+            if (response.getStatusCode().isError()) {
+                byte[] body;
+                try (response) {
+                    body = StreamUtils.copyToByteArray(response.getBody());
+                }
+                return responseBuilder.body(out -> out.write(body));
+            }
+            return responseBuilder.body(out -> {
+                try (response) {
+                    StreamUtils.copy(response.getBody(), out);
+                }
+            });
+        } catch (IOException e) {
+            response.close();
+            throw new ResourceAccessException("Ошибка чтения ответа сервера " + path + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Ответ сервера не разбирается в Object и не сериализуется повторно:
+     * тело отдаётся клиенту теми же байтами вместе с заголовками сервера.
+     * Буферизация в byte[] здесь намеренная. Эти ответы — одиночные объекты или страницы,
+     * ограниченные size, поэтому они небольшие. Соединение с сервером и разрешение
+     * UpstreamBulkhead освобождаются сразу после чтения тела, а медленный клиент
+     * их не удерживает. Кроме того, getRaw отдаёт тело целиком для правки через
+     * JsonResponseModifier. Неограниченные по объёму ответы идут через {@link #stream}.
+     */
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId,
                                                           @Nullable Map<String, Object> parameters, @Nullable T body) {
+        ResponseEntity<byte[]> response = makeAndSendRequest(method, path, userId, parameters, body, byte[].class);
+        return new ResponseEntity<>(response.getBody(), response.getHeaders(), response.getStatusCode());
+    }
+
+    private <T, R> ResponseEntity<R> makeAndSendRequest(HttpMethod method, String path, Long userId,
+                                                        @Nullable Map<String, Object> parameters, @Nullable T body,
+                                                        Class<R> responseType) {
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
 
-        ResponseEntity<Object> shareitServerResponse;
+        GatewayTiming timing = GatewayTiming.current();
+        long startedAt = timing == null ? 0 : timing.upstreamStarted();
+        ResponseEntity<R> shareitServerResponse;
         try {
             if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, responseType, parameters);
             } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, responseType);
             }
         } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            return errorResponse(e);
+        } finally {
+            if (timing != null) {
+                timing.upstreamFinished(startedAt);
+            }
         }
         return prepareGatewayResponse(shareitServerResponse);
     }
@@ -100,17 +196,18 @@ public class BaseClient {
         headers.setContentType(MediaType.APPLICATION_JSON);
         headers.setAccept(List.of(MediaType.APPLICATION_JSON));
         if (userId != null) {
-            headers.set("X-Sharer-User-Id", String.valueOf(userId));
+            headers.set(Constants.USER_ID_HEADER, String.valueOf(userId));
+        }
+        GatewayTiming timing = GatewayTiming.current();
+        if (timing != null) {
+            headers.set(Constants.REQUEST_ID_HEADER, timing.requestId());
         }
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
-        }
-
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+    private static <R> ResponseEntity<R> prepareGatewayResponse(ResponseEntity<R> response) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode())
+                .headers(forwardedHeaders(response.getHeaders()));
 
         if (response.hasBody()) {
             return responseBuilder.body(response.getBody());
@@ -118,4 +215,37 @@ public class BaseClient {
 
         return responseBuilder.build();
     }
-}
\ No newline at end of file
+
+    @SuppressWarnings("unchecked")
+    private static <R> ResponseEntity<R> errorResponse(HttpStatusCodeException e) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(e.getStatusCode())
+                .headers(forwardedHeaders(e.getResponseHeaders()));
+        byte[] body = e.getResponseBodyAsByteArray();
+        if (body.length == 0) {
+            return responseBuilder.build();
+        }
+        return (ResponseEntity<R>) responseBuilder.body(body);
+    }
+
+    private static HttpHeaders forwardedHeaders(@Nullable HttpHeaders serverHeaders) {
+        HttpHeaders headers = new HttpHeaders();
+        if (serverHeaders != null) {
+            serverHeaders.forEach((name, values) -> {
+                if (!isHopByHop(name, serverHeaders) && !containsIgnoreCase(GATEWAY_REWRITTEN_HEADERS, name)) {
+                    headers.addAll(name, values);
+                }
+            });
+        }
+        return headers;
+    }
+
+    // Кроме стандартного набора, hop-by-hop являются и заголовки, перечисленные в Connection
+    private static boolean isHopByHop(String name, HttpHeaders serverHeaders) {
+        return containsIgnoreCase(HOP_BY_HOP_HEADERS, name)
+                || containsIgnoreCase(serverHeaders.getConnection(), name);
+    }
+
+    private static boolean containsIgnoreCase(Collection<String> names, String name) {
+        return names.stream().anyMatch(name::equalsIgnoreCase);
+    }
+}
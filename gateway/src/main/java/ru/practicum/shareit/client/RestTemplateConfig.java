@@ -1,7 +1,17 @@
 package ru.practicum.shareit.client;
 
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.boot.web.client.RestTemplateCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
@@ -13,12 +23,91 @@ public class RestTemplateConfig {
     @Value("${shareit-server.url}")
     private String serverUrl;
 
+    @Value("${shareit-server.pool.max-total:1000}")
+    private int maxTotal;
+
+    @Value("${shareit-server.pool.max-per-route:1000}")
+    private int maxPerRoute;
+
+    @Value("${shareit-server.pool.idle-eviction-seconds:30}")
+    private long idleEvictionSeconds;
+
+    @Value("${shareit-server.pool.time-to-live-seconds:300}")
+    private long timeToLiveSeconds;
+
+    @Value("${shareit-server.pool.acquire-timeout-millis:5000}")
+    private long acquireTimeoutMillis;
+
+    // По умолчанию равно размеру пула: вызов, получивший разрешение, не ждёт соединения
+    @Value("${shareit-server.bulkhead.max-concurrent:${shareit-server.pool.max-total:1000}}")
+    private int bulkheadMaxConcurrent;
+
+    @Value("${shareit-server.bulkhead.acquire-timeout-millis:1000}")
+    private long bulkheadAcquireTimeoutMillis;
+
+    @Value("${spring.http.client.connection-timeout:5000}")
+    private long connectTimeoutMillis;
+
+    @Value("${spring.http.client.read-timeout:30000}")
+    private long readTimeoutMillis;
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager shareItConnectionManager() {
+        // Все клиенты ходят на один и тот же сервер, поэтому лимит на маршрут совпадает с общим
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMillis))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMillis))
+                        .setTimeToLive(TimeValue.ofSeconds(timeToLiveSeconds))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient shareItHttpClient(PoolingHttpClientConnectionManager shareItConnectionManager) {
+        return HttpClients.custom()
+                .setConnectionManager(shareItConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(acquireTimeoutMillis))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMillis))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(idleEvictionSeconds))
+                .build();
+    }
+
+    @Bean
+    public UpstreamBulkhead upstreamBulkhead() {
+        return new UpstreamBulkhead(bulkheadMaxConcurrent, bulkheadAcquireTimeoutMillis);
+    }
+
+    // Применяется ко всем RestTemplate, собранным из RestTemplateBuilder, в том числе в клиентах
+    @Bean
+    public RestTemplateCustomizer upstreamBulkheadCustomizer(UpstreamBulkhead upstreamBulkhead) {
+        return restTemplate -> restTemplate.getInterceptors().add(upstreamBulkhead);
+    }
+
+    @Bean
+    public HttpComponentsClientHttpRequestFactory shareItRequestFactory(CloseableHttpClient shareItHttpClient) {
+        return new HttpComponentsClientHttpRequestFactory(shareItHttpClient);
+    }
+
+    @Bean
+    public PoolingHttpClientConnectionManagerMetricsBinder shareItConnectionPoolMetrics(
+            PoolingHttpClientConnectionManager shareItConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(shareItConnectionManager, "shareit-server");
+    }
+
     @Bean
-    public RestTemplate restTemplate(RestTemplateBuilder builder) {
+    public RestTemplate restTemplate(RestTemplateBuilder builder,
+                                     HttpComponentsClientHttpRequestFactory shareItRequestFactory) {
         RestTemplate restTemplate = builder
                 .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl))
-                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
+                .requestFactory(() -> shareItRequestFactory)
                 .build();
         return restTemplate;
     }
-}
\ No newline at end of file
+}
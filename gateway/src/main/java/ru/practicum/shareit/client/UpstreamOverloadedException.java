@@ -0,0 +1,10 @@
+package ru.practicum.shareit.client;
+
+/**
+ * Все разрешения на вызов сервера заняты дольше допустимого ожидания (UpstreamBulkhead).
+ */
+public class UpstreamOverloadedException extends RuntimeException {
+    public UpstreamOverloadedException(String message) {
+        super(message);
+    }
+}
@@ -7,6 +7,8 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.client.ResourceAccessException;
+import ru.practicum.shareit.client.UpstreamOverloadedException;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -44,6 +46,23 @@ public class ErrorHandler {
                 .build();
     }
 
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponse handleUpstreamOverloadedException(final UpstreamOverloadedException exception,
+                                                           HttpServletRequest request) {
+        log.warn("Вызов сервера отклонён: {}", exception.getMessage());
+        return serviceUnavailable(exception.getMessage(), request);
+    }
+
+    // Таймаут соединения с сервером или ожидания соединения из пула: сервер недоступен, а не ошибка шлюза
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponse handleResourceAccessException(final ResourceAccessException exception,
+                                                       HttpServletRequest request) {
+        log.error("Сервер недоступен: {}", exception.getMessage());
+        return serviceUnavailable("Сервер недоступен, повторите запрос позже", request);
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ErrorResponse handleException(final Exception exception,
@@ -57,4 +76,14 @@ public class ErrorHandler {
                 .status(HttpStatus.INTERNAL_SERVER_ERROR.value())
                 .build();
     }
-}
\ No newline at end of file
+
+    private static ErrorResponse serviceUnavailable(String message, HttpServletRequest request) {
+        return ErrorResponse.builder()
+                .error("Сервис недоступен")
+                .message(message)
+                .timestamp(LocalDateTime.now().format(FORMATTER))
+                .path(request.getRequestURI())
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .build();
+    }
+}
@@ -3,32 +3,37 @@ package ru.practicum.shareit.item.client;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
-import ru.practicum.shareit.client.ResponseModifier;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.util.JsonResponseModifier;
 
+import java.time.LocalDateTime;
 import java.util.Map;
 
 @Service
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
+    private final JsonResponseModifier jsonResponseModifier;
+
     @Autowired
     public ItemClient(@Value("${shareit-server.url}") String serverUrl,
                       RestTemplateBuilder builder,
-                      ResponseModifier responseModifier) {
+                      HttpComponentsClientHttpRequestFactory shareItRequestFactory,
+                      JsonResponseModifier jsonResponseModifier) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build(),
-                responseModifier
+                        .requestFactory(() -> shareItRequestFactory)
+                        .build()
         );
+        this.jsonResponseModifier = jsonResponseModifier;
     }
 
     public ResponseEntity<Object> getAll(long userId) {
@@ -36,11 +41,14 @@ public class ItemClient extends BaseClient {
     }
 
     public ResponseEntity<Object> getById(long itemId, long userId) {
-        ResponseEntity<Object> response = get("/" + itemId, userId);
-        if (responseModifier != null) {
-            return responseModifier.modifyItemResponse(response, "/items/" + itemId);
+        ResponseEntity<byte[]> response = getRaw("/" + itemId, userId);
+        if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
+            return new ResponseEntity<>(response.getBody(), response.getHeaders(), response.getStatusCode());
         }
-        return response;
+        return ResponseEntity.status(response.getStatusCode())
+                .headers(response.getHeaders())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(jsonResponseModifier.ensureItemFields(response.getBody()));
     }
 
     public ResponseEntity<Object> create(ItemDto itemDto, long userId) {
@@ -55,12 +63,43 @@ public class ItemClient extends BaseClient {
         return delete("/" + itemId);
     }
 
-    public ResponseEntity<Object> search(String text) {
-        Map<String, Object> parameters = Map.of("text", text);
-        return get("/search?text={text}", null, parameters);
+    public ResponseEntity<Object> search(String text, int from, int size) {
+        Map<String, Object> parameters = Map.of(
+                "text", text,
+                "from", from,
+                "size", size
+        );
+        return get("/search?text={text}&from={from}&size={size}", null, parameters);
+    }
+
+    public ResponseEntity<Object> searchAvailable(String text, LocalDateTime start, LocalDateTime end, int from, int size) {
+        Map<String, Object> parameters = Map.of(
+                "text", text,
+                "start", start,
+                "end", end,
+                "from", from,
+                "size", size
+        );
+        return get("/search/available?text={text}&start={start}&end={end}&from={from}&size={size}", null, parameters);
     }
 
     public ResponseEntity<Object> createComment(long itemId, CommentDto commentDto, long userId) {
         return post("/" + itemId + "/comment", userId, commentDto);
     }
+
+    public ResponseEntity<Object> getComments(long itemId, int from, int size) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "size", size
+        );
+        return get("/" + itemId + "/comments?from={from}&size={size}", null, parameters);
+    }
+
+    public ResponseEntity<Object> getAvailability(long itemId, long userId, LocalDateTime start, LocalDateTime end) {
+        Map<String, Object> parameters = Map.of(
+                "start", start,
+                "end", end
+        );
+        return get("/" + itemId + "/availability?start={start}&end={end}", userId, parameters);
+    }
 }
\ No newline at end of file
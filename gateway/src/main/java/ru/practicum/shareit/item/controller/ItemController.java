@@ -1,9 +1,11 @@
 package ru.practicum.shareit.item.controller;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
@@ -17,16 +19,13 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
-import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import ru.practicum.shareit.item.client.ItemClient;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.util.Constants;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Map;
+import java.time.LocalDateTime;
 
 @Controller
 @RequestMapping("/items")
@@ -35,7 +34,6 @@ import java.util.Map;
 @Validated
 public class ItemController {
     private final ItemClient itemClient;
-    private final ObjectMapper objectMapper;
 
     @GetMapping
     public ResponseEntity<Object> getAll(@RequestHeader(Constants.USER_ID_HEADER) Long userId) {
@@ -44,27 +42,9 @@ public class ItemController {
     }
 
     @GetMapping("/{id}")
-    @ResponseBody
-    public Map<String, Object> getById(@PathVariable Long id, @RequestHeader(Constants.USER_ID_HEADER) Long userId) {
+    public ResponseEntity<Object> getById(@PathVariable Long id, @RequestHeader(Constants.USER_ID_HEADER) Long userId) {
         log.info("Get item {}, userId={}", id, userId);
-        ResponseEntity<Object> response = itemClient.getById(id, userId);
-
-        Map<String, Object> result = new HashMap<>();
-
-        if (response.getBody() instanceof Map) {
-            result.putAll((Map<String, Object>) response.getBody());
-        } else if (response.getBody() != null) {
-            result = objectMapper.convertValue(response.getBody(), Map.class);
-        }
-
-        result.put("lastBooking", null);
-        result.put("nextBooking", null);
-
-        if (!result.containsKey("comments")) {
-            result.put("comments", new ArrayList<>());
-        }
-
-        return result;
+        return itemClient.getById(id, userId);
     }
 
     @PostMapping
@@ -90,9 +70,21 @@ public class ItemController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> search(@RequestParam String text) {
-        log.info("Searching items by text={}", text);
-        return itemClient.search(text);
+    public ResponseEntity<Object> search(@RequestParam String text,
+                                         @RequestParam(defaultValue = "0") @PositiveOrZero int from,
+                                         @RequestParam(defaultValue = "10") @Positive int size) {
+        log.info("Searching items by text={}, from={}, size={}", text, from, size);
+        return itemClient.search(text, from, size);
+    }
+
+    @GetMapping("/search/available")
+    public ResponseEntity<Object> searchAvailable(@RequestParam String text,
+                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+                                                  @RequestParam(defaultValue = "0") @PositiveOrZero int from,
+                                                  @RequestParam(defaultValue = "10") @Positive int size) {
+        log.info("Searching items by text={} available from {} to {}, from={}, size={}", text, start, end, from, size);
+        return itemClient.searchAvailable(text, start, end, from, size);
     }
 
     @PostMapping("/{itemId}/comment")
@@ -102,4 +94,21 @@ public class ItemController {
         log.info("Creating comment {}, itemId={}, userId={}", commentDto, itemId, userId);
         return itemClient.createComment(itemId, commentDto, userId);
     }
+
+    @GetMapping("/{itemId}/comments")
+    public ResponseEntity<Object> getComments(@PathVariable Long itemId,
+                                              @RequestParam(defaultValue = "0") @PositiveOrZero int from,
+                                              @RequestParam(defaultValue = "10") @Positive int size) {
+        log.info("Get comments of item {}, from={}, size={}", itemId, from, size);
+        return itemClient.getComments(itemId, from, size);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public ResponseEntity<Object> getAvailability(@PathVariable Long itemId,
+                                                  @RequestHeader(Constants.USER_ID_HEADER) Long userId,
+                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+        log.info("Get availability of item {} from {} to {}, userId={}", itemId, start, end, userId);
+        return itemClient.getAvailability(itemId, userId, start, end);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,99 @@
+package ru.practicum.shareit.metrics;
+
+import java.util.Locale;
+
+/**
+ * Фазы обработки запроса в шлюзе, привязанные к потоку запроса между start и clear:
+ * queue — от входа в шлюз до первого вызова сервера (фильтры, разбор и валидация),
+ * upstream — вызовы сервера через RestTemplate вместе с ожиданием соединения из пула,
+ * rewrite — от ответа сервера до записи тела клиенту (правка JSON, заголовки).
+ * Без вызова сервера всё время до ответа относится к queue.
+ */
+public final class GatewayTiming {
+    private static final ThreadLocal<GatewayTiming> CURRENT = new ThreadLocal<>();
+
+    private final String requestId;
+    private final long startNanos = System.nanoTime();
+    private long firstUpstreamNanos;
+    private long lastUpstreamNanos;
+    private long upstreamNanos;
+    private long responseNanos;
+    private boolean upstreamCalled;
+
+    private GatewayTiming(String requestId) {
+        this.requestId = requestId;
+    }
+
+    public static GatewayTiming start(String requestId) {
+        GatewayTiming timing = new GatewayTiming(requestId);
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    public static GatewayTiming current() {
+        return CURRENT.get();
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    public String requestId() {
+        return requestId;
+    }
+
+    public long upstreamStarted() {
+        long now = System.nanoTime();
+        if (!upstreamCalled) {
+            firstUpstreamNanos = now;
+            upstreamCalled = true;
+        }
+        return now;
+    }
+
+    public void upstreamFinished(long startedAt) {
+        lastUpstreamNanos = System.nanoTime();
+        upstreamNanos += lastUpstreamNanos - startedAt;
+    }
+
+    /**
+     * Фиксирует момент записи ответа; повторные вызовы не сдвигают его.
+     *
+     * @return true при первом вызове
+     */
+    public boolean responseReady() {
+        if (responseNanos != 0) {
+            return false;
+        }
+        responseNanos = System.nanoTime();
+        return true;
+    }
+
+    public long queueNanos() {
+        return (upstreamCalled ? firstUpstreamNanos : responseNanos) - startNanos;
+    }
+
+    public long upstreamNanos() {
+        return upstreamNanos;
+    }
+
+    public long rewriteNanos() {
+        return upstreamCalled ? responseNanos - lastUpstreamNanos : 0;
+    }
+
+    public boolean upstreamCalled() {
+        return upstreamCalled;
+    }
+
+    /**
+     * Значение заголовка Server-Timing с фазами шлюза; фазы сервера приходят отдельным значением.
+     */
+    public String serverTiming() {
+        return String.format(Locale.ROOT, "queue;dur=%.2f, upstream;dur=%.2f, rewrite;dur=%.2f",
+                millis(queueNanos()), millis(upstreamNanos), millis(rewriteNanos()));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
\ No newline at end of file
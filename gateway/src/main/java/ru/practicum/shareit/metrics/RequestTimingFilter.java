@@ -0,0 +1,96 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.util.function.SingletonSupplier;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import ru.practicum.shareit.util.Constants;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сквозной идентификатор и фазы запроса в шлюзе. X-Request-Id берётся от клиента или создаётся,
+ * попадает в MDC (requestId), передаётся серверу и возвращается клиенту. Фазы из GatewayTiming
+ * дописываются в Server-Timing к фазам сервера (ServerTimingAdvice, для ответов без тела —
+ * этот фильтр) и записываются в таймер shareit.gateway.phase с тегами phase, method, uri и status.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestTimingFilter extends OncePerRequestFilter {
+    public static final String METRIC = "shareit.gateway.phase";
+    public static final String REQUEST_ID_MDC_KEY = "requestId";
+    private static final int MAX_REQUEST_ID_LENGTH = 64;
+
+    private final SingletonSupplier<MeterRegistry> meterRegistry;
+
+    public RequestTimingFilter(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = SingletonSupplier.of(meterRegistry::getIfAvailable);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String requestId = requestId(request);
+        response.setHeader(Constants.REQUEST_ID_HEADER, requestId);
+        MDC.put(REQUEST_ID_MDC_KEY, requestId);
+        GatewayTiming timing = GatewayTiming.start(requestId);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (timing.responseReady() && !response.isCommitted()) {
+                response.addHeader(Constants.SERVER_TIMING_HEADER, timing.serverTiming());
+            }
+            recordPhases(request, response, timing);
+            GatewayTiming.clear();
+            MDC.remove(REQUEST_ID_MDC_KEY);
+        }
+    }
+
+    private void recordPhases(HttpServletRequest request, HttpServletResponse response, GatewayTiming timing) {
+        MeterRegistry registry = meterRegistry.get();
+        if (registry == null) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+        String status = String.valueOf(response.getStatus());
+        phase(registry, "queue", request, uri, status).record(timing.queueNanos(), TimeUnit.NANOSECONDS);
+        if (timing.upstreamCalled()) {
+            phase(registry, "upstream", request, uri, status).record(timing.upstreamNanos(), TimeUnit.NANOSECONDS);
+            phase(registry, "rewrite", request, uri, status).record(timing.rewriteNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static Timer phase(MeterRegistry registry, String phase, HttpServletRequest request, String uri,
+                               String status) {
+        return Timer.builder(METRIC)
+                .description("Время фаз обработки запроса в шлюзе")
+                .tag("phase", phase)
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .tag("status", status)
+                .register(registry);
+    }
+
+    private static String requestId(HttpServletRequest request) {
+        // Идентификатор попадает в логи, поэтому чужое значение принимается только короткое
+        String requestId = request.getHeader(Constants.REQUEST_ID_HEADER);
+        if (StringUtils.hasText(requestId) && requestId.length() <= MAX_REQUEST_ID_LENGTH) {
+            return requestId;
+        }
+        return UUID.randomUUID().toString();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,40 @@
+package ru.practicum.shareit.metrics;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+import ru.practicum.shareit.util.Constants;
+
+/**
+ * Дописывает фазы шлюза в Server-Timing непосредственно перед телом ответа, после
+ * проброшенных фаз сервера: после начала записи тела заголовки уже не изменить.
+ */
+@ControllerAdvice
+public class ServerTimingAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        GatewayTiming timing = GatewayTiming.current();
+        if (timing != null && timing.responseReady()) {
+            // Списки значений проброшенных заголовков неизменяемы, поэтому значение собирается заново
+            HttpHeaders headers = response.getHeaders();
+            String serverTiming = headers.getFirst(Constants.SERVER_TIMING_HEADER);
+            headers.set(Constants.SERVER_TIMING_HEADER, serverTiming == null
+                    ? timing.serverTiming()
+                    : serverTiming + ", " + timing.serverTiming());
+        }
+        return body;
+    }
+}
\ No newline at end of file
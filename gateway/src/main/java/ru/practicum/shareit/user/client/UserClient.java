@@ -3,23 +3,30 @@ package ru.practicum.shareit.user.client;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.util.HashMap;
+import java.util.Map;
+
 @Service
 public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public UserClient(@Value("${shareit-server.url}") String serverUrl,
+                      RestTemplateBuilder builder,
+                      HttpComponentsClientHttpRequestFactory shareItRequestFactory) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
+                        .requestFactory(() -> shareItRequestFactory)
                         .build()
         );
     }
@@ -28,6 +35,20 @@ public class UserClient extends BaseClient {
         return get("");
     }
 
+    public ResponseEntity<Object> getPage(Long after, int size) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("size", size);
+        if (after == null) {
+            return get("?size={size}", null, parameters);
+        }
+        parameters.put("after", after);
+        return get("?after={after}&size={size}", null, parameters);
+    }
+
+    public ResponseEntity<StreamingResponseBody> export() {
+        return stream("/export", null, MediaType.APPLICATION_NDJSON);
+    }
+
     public ResponseEntity<Object> getById(long userId) {
         return get("/" + userId);
     }
@@ -1,9 +1,11 @@
 package ru.practicum.shareit.user.controller;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
@@ -14,7 +16,9 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.user.client.UserClient;
 import ru.practicum.shareit.user.dto.UserDto;
 
@@ -32,6 +36,19 @@ public class UserController {
         return userClient.getAll();
     }
 
+    @GetMapping(params = "size")
+    public ResponseEntity<Object> getPage(@RequestParam(required = false) Long after,
+                                          @RequestParam @Positive int size) {
+        log.info("Get users page after={}, size={}", after, size);
+        return userClient.getPage(after, size);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> export() {
+        log.info("Export all users");
+        return userClient.export();
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Object> getById(@PathVariable Long id) {
         log.info("Get user {}", id);
@@ -1,46 +1,63 @@
 package ru.practicum.shareit.util;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.springframework.stereotype.Component;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 
 @Component
 public class JsonResponseModifier {
+    private static final String LAST_BOOKING = "lastBooking";
+    private static final String NEXT_BOOKING = "nextBooking";
+    private static final String COMMENTS = "comments";
 
-    private final ObjectMapper objectMapper;
+    private final JsonFactory jsonFactory;
 
     public JsonResponseModifier(ObjectMapper objectMapper) {
-        this.objectMapper = objectMapper;
+        this.jsonFactory = objectMapper.getFactory();
     }
 
-    public String ensureItemFields(String json) {
-        try {
-            JsonNode rootNode = objectMapper.readTree(json);
-
-            if (rootNode.isObject()) {
-                ObjectNode objectNode = (ObjectNode) rootNode;
-
-                if (!objectNode.has("lastBooking")) {
-                    objectNode.putNull("lastBooking");
-                }
-
-                if (!objectNode.has("nextBooking")) {
-                    objectNode.putNull("nextBooking");
-                }
+    /**
+     * Приводит ответ сервера на GET /items/{id} к контракту шлюза за один проход по токенам:
+     * lastBooking и nextBooking всегда null, comments присутствует всегда.
+     * Остальные поля копируются без построения промежуточного дерева или Map.
+     */
+    public byte[] ensureItemFields(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length + 64);
+        try (JsonParser parser = jsonFactory.createParser(json);
+             JsonGenerator generator = jsonFactory.createGenerator(out)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return json;
+            }
 
-                if (!objectNode.has("comments")) {
-                    objectNode.putArray("comments");
+            boolean hasComments = false;
+            generator.writeStartObject();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.currentName();
+                parser.nextToken();
+                if (LAST_BOOKING.equals(fieldName) || NEXT_BOOKING.equals(fieldName)) {
+                    parser.skipChildren();
+                    continue;
                 }
-
-                return objectMapper.writeValueAsString(objectNode);
+                hasComments |= COMMENTS.equals(fieldName);
+                generator.writeFieldName(fieldName);
+                generator.copyCurrentStructure(parser);
             }
-
-            return json;
+            generator.writeNullField(LAST_BOOKING);
+            generator.writeNullField(NEXT_BOOKING);
+            if (!hasComments) {
+                generator.writeArrayFieldStart(COMMENTS);
+                generator.writeEndArray();
+            }
+            generator.writeEndObject();
         } catch (IOException e) {
             return json;
         }
+        return out.toByteArray();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,101 @@
+package ru.practicum.shareit.loadtest;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+/**
+ * Наполняет систему через публичный API: пользователи, запросы вещей, вещи (часть из них
+ * в ответ на запросы) и бронирования. Чётные бронирования вещи лежат в прошлом и подтверждены,
+ * нечётные — в будущем и ждут подтверждения, так что у вещей есть lastBooking и nextBooking.
+ */
+class DataSeeder {
+    static final String[] WORDS = {
+            "Дрель", "Палатка", "Велосипед", "Лестница", "Шуруповёрт", "Проектор", "Байдарка", "Мангал"
+    };
+
+    private final ShareItClient client;
+    private final LoadTestConfig config;
+    private final Semaphore inFlight;
+
+    DataSeeder(ShareItClient client, LoadTestConfig config) {
+        this.client = client;
+        this.config = config;
+        this.inFlight = new Semaphore(config.concurrency());
+    }
+
+    Dataset seed() {
+        long suffix = System.currentTimeMillis();
+        List<Long> userIds = parallel(config.users(),
+                i -> client.createUser("User " + i, "user" + i + "_" + suffix + "@load.test"));
+
+        List<Long> requestIds = parallel(config.requests(),
+                i -> client.createRequest(userIds.get(i % userIds.size()), "Нужна вещь: " + WORDS[i % WORDS.length]));
+
+        int itemCount = config.users() * config.itemsPerUser();
+        List<Dataset.Item> items = parallel(itemCount, i -> {
+            long ownerId = userIds.get(i % userIds.size());
+            Long requestId = i < requestIds.size() ? requestIds.get(i) : null;
+            String word = WORDS[i % WORDS.length];
+            long id = client.createItem(ownerId, word + " " + i, "Описание: " + word.toLowerCase() + " в аренду", requestId);
+            return new Dataset.Item(id, ownerId);
+        });
+
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        AtomicInteger bookings = new AtomicInteger();
+        parallel(items.size(), i -> {
+            Dataset.Item item = items.get(i);
+            // Владелец вещи i — пользователь i % users, бронирует следующий за ним
+            long bookerId = userIds.get((i + 1) % userIds.size());
+            for (int k = 0; k < config.bookingsPerItem(); k++) {
+                boolean past = k % 2 == 0;
+                LocalDateTime start = past ? now.minusDays(7L * (k + 2)) : now.plusDays(400L + 7L * k);
+                ShareItClient.Response created = client.createBooking(bookerId, item.id(), start, start.plusDays(1));
+                long bookingId = client.idOf(created);
+                if (past) {
+                    client.idOf(client.approve(item.ownerId(), bookingId, true));
+                }
+                bookings.incrementAndGet();
+            }
+            return null;
+        });
+        return new Dataset(userIds, items, requestIds.size(), bookings.get());
+    }
+
+    private <T> List<T> parallel(int count, IntFunction<T> task) {
+        List<Future<T>> futures = new ArrayList<>(count);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < count; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> {
+                    inFlight.acquire();
+                    try {
+                        return task.apply(index);
+                    } finally {
+                        inFlight.release();
+                    }
+                }));
+            }
+        }
+        List<T> results = new ArrayList<>(count);
+        for (Future<T> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Наполнение прервано", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Не удалось наполнить данные", e.getCause());
+            }
+        }
+        return results;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.loadtest;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+/**
+ * Сущности, созданные при наполнении; по ним нагрузка выбирает пользователей и вещи.
+ */
+record Dataset(List<Long> userIds, List<Item> items, int requests, int bookings) {
+
+    /**
+     * Идентификаторы без наполнения — для режима заглушки, которая отвечает на любой id.
+     */
+    static Dataset synthetic(LoadTestConfig config) {
+        List<Long> userIds = LongStream.rangeClosed(1, config.users()).boxed().toList();
+        List<Item> items = LongStream.rangeClosed(1, (long) config.users() * config.itemsPerUser())
+                .mapToObj(id -> new Item(id, userIds.get((int) (id % userIds.size()))))
+                .toList();
+        return new Dataset(userIds, items, 0, 0);
+    }
+
+    record Item(long id, long ownerId) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,91 @@
+package ru.practicum.shareit.loadtest;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Накопитель времени ответа по операциям. Замеры хранятся целиком, перцентили
+ * считаются по отсортированному массиву в конце прогона.
+ */
+class LatencyRecorder {
+    private final Map<Operation, Samples> samples = new EnumMap<>(Operation.class);
+
+    LatencyRecorder() {
+        for (Operation operation : Operation.values()) {
+            samples.put(operation, new Samples());
+        }
+    }
+
+    void record(Operation operation, ShareItClient.Response response) {
+        samples.get(operation).add(response);
+    }
+
+    void reset() {
+        samples.values().forEach(Samples::clear);
+    }
+
+    List<EndpointStats> summarize(double seconds) {
+        return samples.entrySet().stream()
+                .filter(entry -> entry.getValue().count() > 0)
+                .map(entry -> entry.getValue().summarize(entry.getKey(), seconds))
+                .toList();
+    }
+
+    /**
+     * Итог по операции: ok — ответы 2xx, conflicts — 409 (пересечение бронирований
+     * при нагрузке ожидаемо), errors — остальные статусы и сетевые ошибки.
+     */
+    record EndpointStats(String endpoint, long requests, double throughput,
+                         double p50Millis, double p90Millis, double p99Millis, double maxMillis,
+                         long ok, long conflicts, long errors) {
+    }
+
+    private static final class Samples {
+        private long[] nanos = new long[1024];
+        private int size;
+        private long ok;
+        private long conflicts;
+        private long errors;
+
+        synchronized void add(ShareItClient.Response response) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = response.nanos();
+            if (response.isSuccessful()) {
+                ok++;
+            } else if (response.status() == 409) {
+                conflicts++;
+            } else {
+                errors++;
+            }
+        }
+
+        synchronized void clear() {
+            size = 0;
+            ok = 0;
+            conflicts = 0;
+            errors = 0;
+        }
+
+        synchronized int count() {
+            return size;
+        }
+
+        synchronized EndpointStats summarize(Operation operation, double seconds) {
+            long[] sorted = Arrays.copyOf(nanos, size);
+            Arrays.sort(sorted);
+            return new EndpointStats(operation.endpoint(), size, size / seconds,
+                    percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                    sorted[sorted.length - 1] / 1_000_000.0,
+                    ok, conflicts, errors);
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
\ No newline at end of file
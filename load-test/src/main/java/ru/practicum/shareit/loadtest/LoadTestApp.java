@@ -0,0 +1,111 @@
+package ru.practicum.shareit.loadtest;
+
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Сквозной нагрузочный прогон шлюз -> сервер. Запуск из корня проекта после сборки:
+ * <pre>
+ * mvn -B package -DskipTests
+ * java -jar load-test/target/shareit-load-test-0.0.1-SNAPSHOT.jar --users=100 --duration-seconds=120
+ * </pre>
+ * Режимы и параметры описаны в {@link LoadTestConfig}.
+ */
+public class LoadTestApp {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        Path logDir = config.report().toAbsolutePath().getParent();
+        Deque<AutoCloseable> resources = new ArrayDeque<>();
+        try {
+            switch (config.mode()) {
+                case LoadTestConfig.STACK -> {
+                    ServiceProcess server = ServiceProcess.start("server", config.serverJar(),
+                            serverDefaults(config), config.serverArgs(), logDir);
+                    resources.push(server);
+                    try (ShareItClient serverClient = new ShareItClient(config.serverUrl())) {
+                        server.awaitHealthy(serverClient);
+                    }
+                }
+                case LoadTestConfig.STUB -> resources.push(StubServer.start(config.serverPort(), config.stubDelay()));
+                default -> {
+                }
+            }
+            if (!LoadTestConfig.EXTERNAL.equals(config.mode())) {
+                ServiceProcess gateway = ServiceProcess.start("gateway", config.gatewayJar(),
+                        gatewayDefaults(config), config.gatewayArgs(), logDir);
+                resources.push(gateway);
+                try (ShareItClient gatewayClient = new ShareItClient(config.gatewayUrl())) {
+                    gateway.awaitHealthy(gatewayClient);
+                }
+            }
+
+            try (ShareItClient client = new ShareItClient(config.gatewayUrl())) {
+                run(config, client);
+            }
+        } finally {
+            while (!resources.isEmpty()) {
+                resources.pop().close();
+            }
+        }
+    }
+
+    private static void run(LoadTestConfig config, ShareItClient client) {
+        long seedingStartedAt = System.nanoTime();
+        Dataset dataset = LoadTestConfig.STUB.equals(config.mode())
+                ? Dataset.synthetic(config)
+                : new DataSeeder(client, config).seed();
+        System.out.printf("Данные: %d пользователей, %d вещей, %d запросов, %d бронирований за %.1f с%n",
+                dataset.userIds().size(), dataset.items().size(), dataset.requests(), dataset.bookings(),
+                (System.nanoTime() - seedingStartedAt) / 1e9);
+
+        Workload workload = new Workload(client, dataset, config.mix());
+        LatencyRecorder recorder = new LatencyRecorder();
+        workload.run(config.concurrency(), config.warmup(), recorder);
+        recorder.reset();
+
+        long startedAt = System.nanoTime();
+        workload.run(config.concurrency(), config.duration(), recorder);
+        double seconds = (System.nanoTime() - startedAt) / 1e9;
+
+        Map<Operation, Double> sqlStatements = Map.of();
+        if (!LoadTestConfig.STUB.equals(config.mode()) && !config.serverUrl().isBlank()) {
+            try (ShareItClient serverClient = new ShareItClient(config.serverUrl())) {
+                sqlStatements = new SqlProfiler(serverClient, workload)
+                        .measure(config.mix().keySet(), config.sqlSamples());
+            }
+        }
+
+        LoadTestReport report = LoadTestReport.of(config, dataset, recorder.summarize(seconds), seconds, sqlStatements);
+        report.print(System.out);
+        report.write(config.report());
+        System.out.println("Отчёт сохранён в " + config.report().toAbsolutePath());
+    }
+
+    private static List<String> serverDefaults(LoadTestConfig config) {
+        return List.of(
+                "--server.port=" + config.serverPort(),
+                "--spring.datasource.url=jdbc:h2:mem:load-test;MODE=PostgreSQL",
+                "--spring.datasource.driverClassName=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--spring.sql.init.mode=never",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.ru.practicum.shareit=WARN",
+                "--logging.level.org.springframework.transaction.interceptor=INFO",
+                "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=INFO");
+    }
+
+    private static List<String> gatewayDefaults(LoadTestConfig config) {
+        return List.of(
+                "--server.port=" + config.gatewayPort(),
+                "--shareit-server.url=http://localhost:" + config.serverPort(),
+                "--logging.level.ru.practicum.shareit=WARN",
+                "--logging.level.org.springframework.web.client.RestTemplate=INFO");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,106 @@
+package ru.practicum.shareit.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Параметры прогона, задаются аргументами вида --name=value.
+ *
+ * @param mode            stack — сервер на H2 и шлюз поднимаются из собранных jar;
+ *                        stub — шлюз перед заглушкой сервера с задержкой ответа;
+ *                        external — нагрузка на уже запущенный шлюз по gatewayUrl
+ * @param mix             веса операций смешанной нагрузки, например search=30,item=40,book=10,approve=5,owner=15
+ * @param sqlSamples      число последовательных вызовов каждой операции для подсчёта SQL-запросов на вызов
+ */
+record LoadTestConfig(
+        String mode,
+        String gatewayUrl,
+        String serverUrl,
+        Path serverJar,
+        Path gatewayJar,
+        int serverPort,
+        int gatewayPort,
+        List<String> serverArgs,
+        List<String> gatewayArgs,
+        int users,
+        int itemsPerUser,
+        int requests,
+        int bookingsPerItem,
+        int concurrency,
+        Duration warmup,
+        Duration duration,
+        Map<Operation, Integer> mix,
+        Duration stubDelay,
+        int sqlSamples,
+        Path report
+) {
+    static final String STACK = "stack";
+    static final String STUB = "stub";
+    static final String EXTERNAL = "external";
+
+    static LoadTestConfig parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Ожидается аргумент вида --name=value: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        String mode = options.getOrDefault("mode", STACK);
+        if (!List.of(STACK, STUB, EXTERNAL).contains(mode)) {
+            throw new IllegalArgumentException("Неизвестный режим: " + mode);
+        }
+        int users = Integer.parseInt(options.getOrDefault("users", "50"));
+        if (users < 2) {
+            throw new IllegalArgumentException("Нужно не меньше двух пользователей: владелец и бронирующий");
+        }
+        int serverPort = Integer.parseInt(options.getOrDefault("server-port", "19090"));
+        int gatewayPort = Integer.parseInt(options.getOrDefault("gateway-port", "18080"));
+        return new LoadTestConfig(
+                mode,
+                options.getOrDefault("gateway-url", "http://localhost:" + gatewayPort),
+                options.getOrDefault("server-url", EXTERNAL.equals(mode) ? "" : "http://localhost:" + serverPort),
+                Path.of(options.getOrDefault("server-jar", "server/target/shareit-server-0.0.1-SNAPSHOT.jar")),
+                Path.of(options.getOrDefault("gateway-jar", "gateway/target/shareit-gateway-0.0.1-SNAPSHOT.jar")),
+                serverPort,
+                gatewayPort,
+                splitArgs(options.get("server-args")),
+                splitArgs(options.get("gateway-args")),
+                users,
+                Integer.parseInt(options.getOrDefault("items-per-user", "20")),
+                Integer.parseInt(options.getOrDefault("requests", "20")),
+                Integer.parseInt(options.getOrDefault("bookings-per-item", "2")),
+                Integer.parseInt(options.getOrDefault("concurrency", "64")),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup-seconds", "10"))),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration-seconds", "60"))),
+                parseMix(options.getOrDefault("mix", STUB.equals(mode)
+                        ? "search=30,item=50,owner=20"
+                        : "search=30,item=40,book=10,approve=5,owner=15")),
+                Duration.ofMillis(Long.parseLong(options.getOrDefault("stub-delay-millis", "50"))),
+                Integer.parseInt(options.getOrDefault("sql-samples", "50")),
+                Path.of(options.getOrDefault("report", "load-test/target/load-test-report.json")));
+    }
+
+    private static List<String> splitArgs(String value) {
+        if (value == null || value.isBlank()) {
+            return List.of();
+        }
+        return Arrays.asList(value.trim().split("\\s+"));
+    }
+
+    private static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            String[] parts = entry.split("=");
+            mix.put(Operation.byKey(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        }
+        return mix;
+    }
+}
\ No newline at end of file
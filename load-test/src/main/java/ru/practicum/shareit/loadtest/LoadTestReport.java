@@ -0,0 +1,75 @@
+package ru.practicum.shareit.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Итог прогона: задержки и пропускная способность по операциям и число SQL-запросов
+ * сервера на вызов. Печатается таблицей и сохраняется в JSON для сравнения прогонов.
+ */
+record LoadTestReport(
+        LocalDateTime finishedAt,
+        String mode,
+        List<String> gatewayArgs,
+        int concurrency,
+        long durationSeconds,
+        int users,
+        int items,
+        int requests,
+        int bookings,
+        long totalRequests,
+        double throughput,
+        List<LatencyRecorder.EndpointStats> endpoints,
+        Map<String, Double> sqlStatementsPerRequest
+) {
+
+    static LoadTestReport of(LoadTestConfig config, Dataset dataset, List<LatencyRecorder.EndpointStats> endpoints,
+                             double seconds, Map<Operation, Double> sqlStatements) {
+        long total = endpoints.stream().mapToLong(LatencyRecorder.EndpointStats::requests).sum();
+        Map<String, Double> sql = new LinkedHashMap<>();
+        sqlStatements.forEach((operation, statements) -> sql.put(operation.endpoint(), statements));
+        return new LoadTestReport(LocalDateTime.now(), config.mode(), config.gatewayArgs(), config.concurrency(),
+                config.duration().toSeconds(), dataset.userIds().size(), dataset.items().size(),
+                dataset.requests(), dataset.bookings(), total, total / seconds, endpoints, sql);
+    }
+
+    void print(PrintStream out) {
+        out.printf("%nРежим %s, %d потоков, %d с: %d запросов, %.1f запросов/с%n",
+                mode, concurrency, durationSeconds, totalRequests, throughput);
+        out.printf("%-22s %9s %9s %9s %9s %9s %9s %7s %9s %7s %6s%n",
+                "endpoint", "requests", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms", "ok", "conflict", "errors", "sql");
+        for (LatencyRecorder.EndpointStats stats : endpoints) {
+            Double statements = sqlStatementsPerRequest.get(stats.endpoint());
+            out.printf("%-22s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %7d %9d %7d %6s%n",
+                    stats.endpoint(), stats.requests(), stats.throughput(),
+                    stats.p50Millis(), stats.p90Millis(), stats.p99Millis(), stats.maxMillis(),
+                    stats.ok(), stats.conflicts(), stats.errors(),
+                    statements == null ? "-" : String.format("%.1f", statements));
+        }
+    }
+
+    void write(Path path) {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .enable(SerializationFeature.INDENT_OUTPUT);
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            objectMapper.writeValue(path.toFile(), this);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось сохранить отчёт " + path, e);
+        }
+    }
+}
\ No newline at end of file
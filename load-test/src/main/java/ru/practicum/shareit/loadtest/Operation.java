@@ -0,0 +1,33 @@
+package ru.practicum.shareit.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Операции смешанной нагрузки; endpoint — подпись строки в отчёте.
+ */
+enum Operation {
+    SEARCH("search", "GET /items/search"),
+    ITEM("item", "GET /items/{id}"),
+    BOOK("book", "POST /bookings"),
+    APPROVE("approve", "PATCH /bookings/{id}"),
+    OWNER("owner", "GET /bookings/owner");
+
+    private final String key;
+    private final String endpoint;
+
+    Operation(String key, String endpoint) {
+        this.key = key;
+        this.endpoint = endpoint;
+    }
+
+    String endpoint() {
+        return endpoint;
+    }
+
+    static Operation byKey(String key) {
+        return Arrays.stream(values())
+                .filter(operation -> operation.key.equals(key))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Неизвестная операция: " + key));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,95 @@
+package ru.practicum.shareit.loadtest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сервер или шлюз, запущенный из собранного jar в отдельной JVM. Вывод пишется в лог рядом с отчётом.
+ */
+class ServiceProcess implements AutoCloseable {
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    private final String name;
+    private final Process process;
+    private final Path log;
+
+    private ServiceProcess(String name, Process process, Path log) {
+        this.name = name;
+        this.process = process;
+        this.log = log;
+    }
+
+    /**
+     * Запускает jar с аргументами по умолчанию; аргументы overrides заменяют одноимённые значения.
+     */
+    static ServiceProcess start(String name, Path jar, List<String> defaults, List<String> overrides, Path logDir) {
+        if (!Files.isRegularFile(jar)) {
+            throw new IllegalStateException("Не найден " + jar + ": сначала соберите проект (mvn package -DskipTests)");
+        }
+        Map<String, String> args = new LinkedHashMap<>();
+        for (String arg : defaults) {
+            args.put(key(arg), arg);
+        }
+        for (String arg : overrides) {
+            args.put(key(arg), arg);
+        }
+
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-jar");
+        command.add(jar.toString());
+        command.addAll(args.values());
+
+        try {
+            Files.createDirectories(logDir);
+            Path log = logDir.resolve(name + ".log");
+            Process process = new ProcessBuilder(command)
+                    .redirectErrorStream(true)
+                    .redirectOutput(log.toFile())
+                    .start();
+            return new ServiceProcess(name, process, log);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось запустить " + name, e);
+        }
+    }
+
+    void awaitHealthy(ShareItClient client) throws InterruptedException {
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException(name + " завершился при старте, см. " + log);
+            }
+            if (client.get("/actuator/health", null).isSuccessful()) {
+                return;
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException(name + " не поднялся за " + STARTUP_TIMEOUT.toSeconds() + " с, см. " + log);
+    }
+
+    @Override
+    public void close() {
+        process.destroy();
+        try {
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String key(String arg) {
+        int separator = arg.indexOf('=');
+        return separator < 0 ? arg : arg.substring(0, separator);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,149 @@
+package ru.practicum.shareit.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+/**
+ * HTTP-клиент API ShareIt поверх java.net.http: запросы идут на виртуальных потоках,
+ * ответ возвращается вместе со статусом и временем выполнения.
+ */
+class ShareItClient implements AutoCloseable {
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    private final String baseUrl;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+
+    ShareItClient(String baseUrl) {
+        this.baseUrl = baseUrl;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        this.objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    long createUser(String name, String email) {
+        return idOf(post("/users", null, Map.of("name", name, "email", email)));
+    }
+
+    long createRequest(long userId, String description) {
+        return idOf(post("/requests", userId, Map.of("description", description)));
+    }
+
+    long createItem(long ownerId, String name, String description, Long requestId) {
+        Map<String, Object> body = requestId == null
+                ? Map.of("name", name, "description", description, "available", true)
+                : Map.of("name", name, "description", description, "available", true, "requestId", requestId);
+        return idOf(post("/items", ownerId, body));
+    }
+
+    Response createBooking(long bookerId, long itemId, LocalDateTime start, LocalDateTime end) {
+        return post("/bookings", bookerId, Map.of("itemId", itemId, "start", start, "end", end));
+    }
+
+    Response approve(long ownerId, long bookingId, boolean approved) {
+        return send(HttpRequest.newBuilder(uri("/bookings/" + bookingId + "?approved=" + approved))
+                .header(USER_ID_HEADER, String.valueOf(ownerId))
+                .method("PATCH", HttpRequest.BodyPublishers.noBody()));
+    }
+
+    Response getItem(long userId, long itemId) {
+        return get("/items/" + itemId, userId);
+    }
+
+    Response search(String text, int from, int size) {
+        return get("/items/search?text=" + URLEncoder.encode(text, StandardCharsets.UTF_8)
+                + "&from=" + from + "&size=" + size, null);
+    }
+
+    Response ownerBookings(long ownerId, String state, int from, int size) {
+        return get("/bookings/owner?state=" + state + "&from=" + from + "&size=" + size, ownerId);
+    }
+
+    Response get(String path, Long userId) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri(path)).GET();
+        if (userId != null) {
+            request.header(USER_ID_HEADER, String.valueOf(userId));
+        }
+        return send(request);
+    }
+
+    long idOf(Response response) {
+        if (!response.isSuccessful()) {
+            throw new IllegalStateException("Запрос не выполнен: HTTP " + response.status() + " " + response.body());
+        }
+        return read(response).get("id").asLong();
+    }
+
+    JsonNode read(Response response) {
+        try {
+            return objectMapper.readTree(response.body());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        httpClient.close();
+    }
+
+    private Response post(String path, Long userId, Object body) {
+        HttpRequest.Builder request;
+        try {
+            request = HttpRequest.newBuilder(uri(path))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (userId != null) {
+            request.header(USER_ID_HEADER, String.valueOf(userId));
+        }
+        return send(request);
+    }
+
+    private Response send(HttpRequest.Builder request) {
+        long startedAt = System.nanoTime();
+        try {
+            HttpResponse<String> response = httpClient.send(request.timeout(Duration.ofSeconds(30)).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            return new Response(response.statusCode(), response.body(), System.nanoTime() - startedAt);
+        } catch (IOException e) {
+            // Обрыв соединения или таймаут считаются ошибкой запроса, а не прогона
+            return new Response(0, e.toString(), System.nanoTime() - startedAt);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Response(0, e.toString(), System.nanoTime() - startedAt);
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    record Response(int status, String body, long nanos) {
+        boolean isSuccessful() {
+            return status >= 200 && status < 300;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.OptionalDouble;
+
+/**
+ * Число SQL-запросов сервера на один вызов каждой операции. Операции выполняются по одной
+ * без параллельной нагрузки, а запросы считаются по разнице счётчика hibernate.statements
+ * из actuator сервера до и после серии вызовов.
+ */
+class SqlProfiler {
+    private static final String STATEMENTS_METRIC = "/actuator/metrics/hibernate.statements";
+
+    private final ShareItClient serverClient;
+    private final Workload workload;
+
+    SqlProfiler(ShareItClient serverClient, Workload workload) {
+        this.serverClient = serverClient;
+        this.workload = workload;
+    }
+
+    Map<Operation, Double> measure(Iterable<Operation> operations, int samples) {
+        Map<Operation, Double> result = new EnumMap<>(Operation.class);
+        LatencyRecorder ignored = new LatencyRecorder();
+        for (Operation operation : operations) {
+            // Подтверждать нужно свои ожидающие бронирования: очередь заполняется вне замера
+            while (operation == Operation.APPROVE && workload.pendingApprovals() < samples) {
+                workload.execute(Operation.BOOK, ignored);
+            }
+
+            OptionalDouble before = statements();
+            if (before.isEmpty()) {
+                return Map.of();
+            }
+            for (int i = 0; i < samples; i++) {
+                workload.execute(operation, ignored);
+            }
+            result.put(operation, (statements().orElseThrow() - before.getAsDouble()) / samples);
+        }
+        return result;
+    }
+
+    private OptionalDouble statements() {
+        ShareItClient.Response response = serverClient.get(STATEMENTS_METRIC, null);
+        if (!response.isSuccessful()) {
+            return OptionalDouble.empty();
+        }
+        JsonNode measurements = serverClient.read(response).get("measurements");
+        return OptionalDouble.of(measurements.get(0).get("value").asDouble());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,81 @@
+package ru.practicum.shareit.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Заглушка сервера для замера самого шлюза: на любой запрос отвечает готовым JSON после
+ * фиксированной задержки. Каждый запрос обслуживается своим виртуальным потоком, поэтому
+ * заглушка не ограничивает число одновременных запросов от шлюза.
+ */
+class StubServer implements AutoCloseable {
+    private static final String ITEM = "{\"id\":1,\"name\":\"Дрель\",\"description\":\"Аккумуляторная дрель\","
+            + "\"available\":true,\"comments\":[]}";
+    private static final String BOOKING = "{\"id\":%d,\"start\":\"2030-01-01T10:00:00\",\"end\":\"2030-01-02T10:00:00\","
+            + "\"status\":\"WAITING\",\"booker\":{\"id\":2,\"name\":\"Booker\",\"email\":\"booker@load.test\"},"
+            + "\"item\":" + ITEM + "}";
+    private static final byte[] ITEM_BODY = ITEM.getBytes(StandardCharsets.UTF_8);
+    private static final byte[] ITEMS_BODY = IntStream.range(0, 10)
+            .mapToObj(i -> ITEM)
+            .collect(Collectors.joining(",", "[", "]"))
+            .getBytes(StandardCharsets.UTF_8);
+    private static final byte[] BOOKINGS_BODY = IntStream.range(0, 10)
+            .mapToObj(i -> BOOKING.formatted(i + 1))
+            .collect(Collectors.joining(",", "[", "]"))
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final HttpServer server;
+
+    private StubServer(HttpServer server) {
+        this.server = server;
+    }
+
+    static StubServer start(int port, Duration delay) {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress(port), 1024);
+            server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+            server.createContext("/", exchange -> respond(exchange, delay));
+            server.start();
+            return new StubServer(server);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось запустить заглушку сервера", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private static void respond(HttpExchange exchange, Duration delay) throws IOException {
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        String path = exchange.getRequestURI().getPath();
+        byte[] body;
+        if (path.startsWith("/bookings")) {
+            body = BOOKINGS_BODY;
+        } else if (path.startsWith("/items/search") || path.equals("/items")) {
+            body = ITEMS_BODY;
+        } else {
+            body = ITEM_BODY;
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
\ No newline at end of file
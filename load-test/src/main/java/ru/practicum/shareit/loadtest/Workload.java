@@ -0,0 +1,123 @@
+package ru.practicum.shareit.loadtest;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Смешанная нагрузка по замкнутому циклу: concurrency виртуальных потоков без пауз выполняют
+ * операции, выбранные случайно по весам. Созданные бронирования попадают в очередь
+ * на подтверждение; если очередь пуста, вместо подтверждения создаётся бронирование.
+ */
+class Workload {
+    private static final String[] STATES = {"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"};
+    private static final int PAGE_SIZE = 10;
+
+    private final ShareItClient client;
+    private final Dataset dataset;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final Queue<PendingApproval> pendingApprovals = new ConcurrentLinkedQueue<>();
+
+    Workload(ShareItClient client, Dataset dataset, Map<Operation, Integer> mix) {
+        this.client = client;
+        this.dataset = dataset;
+        this.operations = mix.keySet().toArray(Operation[]::new);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += mix.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    void run(int concurrency, Duration duration, LatencyRecorder recorder) {
+        long deadline = System.nanoTime() + duration.toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                executor.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        execute(nextOperation(), recorder);
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Выполняет одну операцию и возвращает фактически выполненную: подтверждение без
+     * ожидающих бронирований заменяется созданием бронирования.
+     */
+    Operation execute(Operation operation, LatencyRecorder recorder) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        switch (operation) {
+            case SEARCH -> {
+                String word = DataSeeder.WORDS[random.nextInt(DataSeeder.WORDS.length)];
+                recorder.record(operation, client.search(word.toLowerCase(), 0, PAGE_SIZE));
+            }
+            case ITEM -> {
+                Dataset.Item item = randomItem(random);
+                recorder.record(operation, client.getItem(randomUser(random), item.id()));
+            }
+            case BOOK -> {
+                Dataset.Item item = randomItem(random);
+                // Владелец не может бронировать свою вещь, поэтому берётся следующий пользователь
+                int index = random.nextInt(dataset.userIds().size());
+                long bookerId = dataset.userIds().get(index);
+                if (bookerId == item.ownerId()) {
+                    bookerId = dataset.userIds().get((index + 1) % dataset.userIds().size());
+                }
+                LocalDateTime start = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS)
+                        .plusDays(1 + random.nextInt(365))
+                        .plusHours(random.nextInt(24));
+                ShareItClient.Response response = client.createBooking(bookerId, item.id(), start,
+                        start.plusDays(1 + random.nextInt(3)));
+                recorder.record(operation, response);
+                if (response.isSuccessful()) {
+                    pendingApprovals.add(new PendingApproval(client.read(response).get("id").asLong(), item.ownerId()));
+                }
+            }
+            case APPROVE -> {
+                PendingApproval pending = pendingApprovals.poll();
+                if (pending == null) {
+                    return execute(Operation.BOOK, recorder);
+                }
+                recorder.record(operation, client.approve(pending.ownerId(), pending.bookingId(), random.nextInt(4) != 0));
+            }
+            case OWNER -> recorder.record(operation,
+                    client.ownerBookings(randomUser(random), STATES[random.nextInt(STATES.length)], 0, PAGE_SIZE));
+        }
+        return operation;
+    }
+
+    int pendingApprovals() {
+        return pendingApprovals.size();
+    }
+
+    private Operation nextOperation() {
+        int point = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (point < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    private Dataset.Item randomItem(ThreadLocalRandom random) {
+        return dataset.items().get(random.nextInt(dataset.items().size()));
+    }
+
+    private long randomUser(ThreadLocalRandom random) {
+        return dataset.userIds().get(random.nextInt(dataset.userIds().size()));
+    }
+
+    private record PendingApproval(long bookingId, long ownerId) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,12 @@
+package ru.practicum.shareit.booking;
+
+/**
+ * Итог массового подтверждения для одного бронирования; NOT_FOUND, FORBIDDEN и ALREADY_PROCESSED
+ * соответствуют ошибкам одиночного PATCH /bookings/{bookingId}.
+ */
+public enum BookingApprovalOutcome {
+    UPDATED,
+    NOT_FOUND,
+    FORBIDDEN,
+    ALREADY_PROCESSED
+}
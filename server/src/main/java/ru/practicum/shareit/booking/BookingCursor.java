@@ -0,0 +1,30 @@
+package ru.practicum.shareit.booking;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Позиция в списке бронирований, упорядоченном по (start DESC, id DESC): следующая страница
+ * начинается сразу после бронирования с этими start и id. В запросе передаётся как "start,id",
+ * например after=2024-05-01T10:00:00,42.
+ */
+public record BookingCursor(LocalDateTime start, Long id) {
+
+    public static BookingCursor parse(String value) {
+        int comma = value.lastIndexOf(',');
+        if (comma < 0) {
+            throw new IllegalArgumentException("Курсор должен иметь вид start,id: " + value);
+        }
+        try {
+            return new BookingCursor(LocalDateTime.parse(value.substring(0, comma).trim()),
+                    Long.valueOf(value.substring(comma + 1).trim()));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Некорректная дата в курсоре: " + value, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return start + "," + id;
+    }
+}
@@ -4,11 +4,17 @@ import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 import org.mapstruct.NullValuePropertyMappingStrategy;
+import ru.practicum.shareit.booking.availability.BookingInterval;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingShortDto;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.UserMapper;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
 
 @Mapper(componentModel = "spring",
         uses = {ItemMapper.class, UserMapper.class},
@@ -30,4 +36,46 @@ public interface BookingMapper {
     @Mapping(target = "bookerId", source = "booker.id")
     @Mapping(target = "itemId", source = "item.id")
     BookingShortDto toBookingShortDto(Booking booking);
-}
\ No newline at end of file
+
+    BookingShortDto toBookingShortDto(BookingInterval interval);
+
+    @Mapping(target = "item", source = "view")
+    @Mapping(target = "booker", source = "view")
+    @Mapping(target = "itemId", ignore = true)
+    BookingDto toBookingDto(BookingView view);
+
+    @Mapping(target = "id", source = "itemId")
+    @Mapping(target = "name", source = "itemName")
+    @Mapping(target = "description", source = "itemDescription")
+    @Mapping(target = "available", source = "itemAvailable")
+    @Mapping(target = "request", expression = "java(toItemRequest(view))")
+    @Mapping(target = "requestId", ignore = true)
+    @Mapping(target = "lastBooking", ignore = true)
+    @Mapping(target = "nextBooking", ignore = true)
+    @Mapping(target = "comments", ignore = true)
+    @Mapping(target = "commentCount", ignore = true)
+    @Mapping(target = "lastComment", ignore = true)
+    ItemDto toItemDto(BookingView view);
+
+    @Mapping(target = "id", source = "bookerId")
+    @Mapping(target = "name", source = "bookerName")
+    @Mapping(target = "email", source = "bookerEmail")
+    UserDto toBookerDto(BookingView view);
+
+    // Запрос вещи собирается вручную: у вещи без запроса поле должно остаться null
+    default ItemRequest toItemRequest(BookingView view) {
+        if (view.requestId() == null) {
+            return null;
+        }
+        return ItemRequest.builder()
+                .id(view.requestId())
+                .description(view.requestDescription())
+                .created(view.requestCreated())
+                .requestor(User.builder()
+                        .id(view.requestorId())
+                        .name(view.requestorName())
+                        .email(view.requestorEmail())
+                        .build())
+                .build();
+    }
+}
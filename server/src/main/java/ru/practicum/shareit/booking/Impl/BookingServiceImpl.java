@@ -1,39 +1,59 @@
 package ru.practicum.shareit.booking.Impl;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingApprovalOutcome;
+import ru.practicum.shareit.booking.BookingCursor;
 import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.BookingRole;
 import ru.practicum.shareit.booking.BookingState;
 import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.availability.BookingInterval;
+import ru.practicum.shareit.booking.availability.ItemAvailabilityIndex;
+import ru.practicum.shareit.booking.dto.BookingApprovalResultDto;
+import ru.practicum.shareit.booking.dto.BookingApprovalView;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.exception.ShareItException;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
-import ru.practicum.shareit.booking.service.BookerStateProcessor;
 import ru.practicum.shareit.booking.service.BookingService;
-import ru.practicum.shareit.booking.service.handler.owner.OwnerStateProcessor;
+import ru.practicum.shareit.item.cache.ItemDtoCache;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.util.OffsetBasedPageRequest;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class BookingServiceImpl implements BookingService {
+    // id упорядочивает бронирования с одинаковым start, так что порядок страниц совпадает с курсорным
+    private static final Sort PAGE_SORT = Sort.by(Sort.Direction.DESC, "start", "id");
+    // Предел размера списка IN в запросах массового подтверждения
+    private static final int MAX_BULK_APPROVAL = 1000;
+
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
     private final BookingMapper bookingMapper;
-    private final BookerStateProcessor bookerStateProcessor;
-    private final OwnerStateProcessor ownerStateProcessor;
+    private final ItemAvailabilityIndex availabilityIndex;
+    private final ItemDtoCache itemDtoCache;
 
     @Override
     @Transactional
@@ -41,7 +61,9 @@ public class BookingServiceImpl implements BookingService {
         User booker = userRepository.findById(userId)
                 .orElseThrow(() -> new ShareItException.NotFoundException("Пользователь не найден"));
 
-        Item item = itemRepository.findById(bookingDto.getItemId())
+        // Строка вещи блокируется до конца транзакции: проверка пересечений и вставка
+        // выполняются атомарно относительно других бронирований этой же вещи
+        Item item = itemRepository.findByIdForUpdate(bookingDto.getItemId())
                 .orElseThrow(() -> new ShareItException.NotFoundException("Вещь не найдена"));
 
         if (!item.getAvailable()) {
@@ -56,12 +78,20 @@ public class BookingServiceImpl implements BookingService {
             throw new ShareItException.BadRequestException("Некорректные даты бронирования");
         }
 
+        if (bookingRepository.existsOverlapping(item.getId(), bookingDto.getStart(), bookingDto.getEnd(),
+                ItemAvailabilityIndex.OCCUPYING_STATUSES)) {
+            throw new ShareItException.ConflictException("Вещь уже забронирована на эти даты");
+        }
+
         Booking booking = bookingMapper.toBooking(bookingDto);
         booking.setBooker(booker);
         booking.setItem(item);
         booking.setStatus(BookingStatus.WAITING);
 
-        return bookingMapper.toBookingDto(bookingRepository.save(booking));
+        Booking saved = bookingRepository.save(booking);
+        availabilityIndex.register(saved);
+        itemDtoCache.invalidate(saved.getItem().getId());
+        return bookingMapper.toBookingDto(saved);
     }
 
     @Override
@@ -79,7 +109,63 @@ public class BookingServiceImpl implements BookingService {
         }
 
         booking.setStatus(approved ? BookingStatus.APPROVED : BookingStatus.REJECTED);
-        return bookingMapper.toBookingDto(bookingRepository.save(booking));
+        Booking saved = bookingRepository.save(booking);
+        availabilityIndex.register(saved);
+        itemDtoCache.invalidate(saved.getItem().getId());
+        return bookingMapper.toBookingDto(saved);
+    }
+
+    @Override
+    @Transactional
+    public List<BookingApprovalResultDto> approveAll(List<Long> bookingIds, Long userId, Boolean approved) {
+        if (bookingIds == null || bookingIds.isEmpty() || bookingIds.size() > MAX_BULK_APPROVAL
+                || bookingIds.stream().anyMatch(Objects::isNull)) {
+            throw new ShareItException.BadRequestException(
+                    "Укажите от 1 до " + MAX_BULK_APPROVAL + " id бронирований");
+        }
+        List<Long> ids = List.copyOf(new LinkedHashSet<>(bookingIds));
+        BookingStatus status = approved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+
+        // Владелец вещи, статус и интервал всех бронирований читаются одним запросом
+        Map<Long, BookingApprovalView> views = bookingRepository.findApprovalViews(ids).stream()
+                .collect(Collectors.toMap(BookingApprovalView::id, Function.identity()));
+        List<Long> waitingIds = views.values().stream()
+                .filter(view -> view.ownerId().equals(userId))
+                .filter(view -> view.status() == BookingStatus.WAITING)
+                .map(BookingApprovalView::id)
+                .toList();
+
+        // Обновляются ровно те строки, что остались WAITING под нашей блокировкой;
+        // остальные обработаны параллельно между выборкой и блокировкой
+        Set<Long> updatedIds = Set.of();
+        if (!waitingIds.isEmpty()) {
+            updatedIds = new HashSet<>(bookingRepository.lockWaitingIds(waitingIds));
+            if (!updatedIds.isEmpty()) {
+                bookingRepository.updateStatusIfWaiting(updatedIds, status);
+            }
+        }
+
+        List<BookingApprovalResultDto> results = new ArrayList<>(ids.size());
+        Set<Long> changedItemIds = new HashSet<>();
+        for (Long id : ids) {
+            BookingApprovalView view = views.get(id);
+            if (view == null) {
+                results.add(approvalResult(id, BookingApprovalOutcome.NOT_FOUND, null));
+            } else if (!view.ownerId().equals(userId)) {
+                results.add(approvalResult(id, BookingApprovalOutcome.FORBIDDEN, null));
+            } else if (updatedIds.contains(id)) {
+                availabilityIndex.register(new BookingInterval(view.id(), view.itemId(), view.bookerId(),
+                        view.start(), view.end(), status));
+                changedItemIds.add(view.itemId());
+                results.add(approvalResult(id, BookingApprovalOutcome.UPDATED, status));
+            } else {
+                // Для бронирования, обработанного параллельно, итоговый статус неизвестен
+                results.add(approvalResult(id, BookingApprovalOutcome.ALREADY_PROCESSED,
+                        view.status() == BookingStatus.WAITING ? null : view.status()));
+            }
+        }
+        changedItemIds.forEach(itemDtoCache::invalidate);
+        return results;
     }
 
     @Override
@@ -99,9 +185,10 @@ public class BookingServiceImpl implements BookingService {
         validateUser(userId);
         BookingState bookingState = parseState(state);
 
-        PageRequest pageRequest = PageRequest.of(from / size, size, Sort.by("start").descending());
+        Pageable pageRequest = OffsetBasedPageRequest.of(from, size, PAGE_SORT);
 
-        List<Booking> bookings = bookerStateProcessor.process(bookingState, userId, LocalDateTime.now(), pageRequest);
+        List<BookingView> bookings = bookingRepository.findViews(BookingRole.BOOKER, userId, bookingState,
+                LocalDateTime.now(), pageRequest);
 
         return bookings.stream()
                 .map(bookingMapper::toBookingDto)
@@ -113,15 +200,46 @@ public class BookingServiceImpl implements BookingService {
         validateUser(userId);
         BookingState bookingState = parseState(state);
 
-        PageRequest pageRequest = PageRequest.of(from / size, size, Sort.by("start").descending());
+        Pageable pageRequest = OffsetBasedPageRequest.of(from, size, PAGE_SORT);
 
-        List<Booking> bookings = ownerStateProcessor.process(bookingState, userId, LocalDateTime.now(), pageRequest);
+        List<BookingView> bookings = bookingRepository.findViews(BookingRole.OWNER, userId, bookingState,
+                LocalDateTime.now(), pageRequest);
 
         return bookings.stream()
                 .map(bookingMapper::toBookingDto)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<BookingDto> getPageByBooker(Long userId, String state, String after, int size) {
+        return getPage(BookingRole.BOOKER, userId, state, after, size);
+    }
+
+    @Override
+    public List<BookingDto> getPageByOwner(Long userId, String state, String after, int size) {
+        return getPage(BookingRole.OWNER, userId, state, after, size);
+    }
+
+    private List<BookingDto> getPage(BookingRole role, Long userId, String state, String after, int size) {
+        validateUser(userId);
+        BookingState bookingState = parseState(state);
+        BookingCursor cursor = parseCursor(after);
+
+        return bookingRepository.findViewsAfter(role, userId, bookingState, LocalDateTime.now(), cursor, size)
+                .stream()
+                .map(bookingMapper::toBookingDto)
+                .collect(Collectors.toList());
+    }
+
+    private BookingApprovalResultDto approvalResult(Long bookingId, BookingApprovalOutcome outcome,
+                                                    BookingStatus status) {
+        return BookingApprovalResultDto.builder()
+                .bookingId(bookingId)
+                .outcome(outcome)
+                .status(status)
+                .build();
+    }
+
     private void validateUser(Long userId) {
         if (!userRepository.existsById(userId)) {
             throw new ShareItException.NotFoundException("Пользователь не найден");
@@ -135,4 +253,15 @@ public class BookingServiceImpl implements BookingService {
             throw new ShareItException.BadRequestException("Unknown state: " + state);
         }
     }
+
+    private BookingCursor parseCursor(String after) {
+        if (after == null || after.isBlank()) {
+            return null;
+        }
+        try {
+            return BookingCursor.parse(after);
+        } catch (IllegalArgumentException e) {
+            throw new ShareItException.BadRequestException("Unknown cursor: " + after);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.booking.availability;
+
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.time.LocalDateTime;
+
+/**
+ * Интервал, который бронирование занимает в расписании вещи.
+ */
+public record BookingInterval(
+        Long id,
+        Long itemId,
+        Long bookerId,
+        LocalDateTime start,
+        LocalDateTime end,
+        BookingStatus status
+) {
+    public static BookingInterval of(Booking booking) {
+        return new BookingInterval(booking.getId(), booking.getItem().getId(), booking.getBooker().getId(),
+                booking.getStart(), booking.getEnd(), booking.getStatus());
+    }
+}
@@ -0,0 +1,98 @@
+package ru.practicum.shareit.booking.availability;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.util.TransactionCallbacks;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Индекс занятости вещей в памяти процесса: для каждой вещи хранится расписание
+ * незавершённых бронирований в статусах WAITING и APPROVED.
+ * Прогревается из bookings после создания синглтонов контекста, то есть до запуска
+ * веб-сервера: к моменту приёма запросов ни одна регистрация не может потеряться
+ * при замене карты. Дальше индекс обновляется после фиксации транзакций
+ * создания и подтверждения бронирований. Источником истины остаётся база:
+ * проверка пересечений при создании бронирования выполняется запросом под блокировкой.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ItemAvailabilityIndex implements SmartInitializingSingleton {
+    // Статусы, которые занимают интервал вещи
+    public static final Set<BookingStatus> OCCUPYING_STATUSES = EnumSet.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+
+    private final BookingRepository bookingRepository;
+
+    private final Map<Long, ItemTimeline> timelines = new ConcurrentHashMap<>();
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        warmUp();
+    }
+
+    public void warmUp() {
+        rebuild(bookingRepository.findIntervals(OCCUPYING_STATUSES, LocalDateTime.now()));
+    }
+
+    /**
+     * Полностью заменяет содержимое индекса. Регистрации, зафиксированные между загрузкой
+     * intervals и заменой, теряются, поэтому вызывается только без параллельной записи:
+     * при старте контекста, в тестах и бенчмарках.
+     */
+    public void rebuild(List<BookingInterval> intervals) {
+        Map<Long, ItemTimeline> loaded = intervals.stream()
+                .collect(Collectors.groupingBy(BookingInterval::itemId, Collectors.collectingAndThen(
+                        Collectors.toList(), list -> ItemTimeline.of(list.toArray(BookingInterval[]::new)))));
+        timelines.clear();
+        timelines.putAll(loaded);
+        log.info("Индекс занятости прогрет: {} бронирований по {} вещам", intervals.size(), loaded.size());
+    }
+
+    public boolean isAvailable(Long itemId, LocalDateTime start, LocalDateTime end) {
+        return !timelines.getOrDefault(itemId, ItemTimeline.EMPTY).overlaps(start, end);
+    }
+
+    public Optional<BookingInterval> findNextApproved(Long itemId, LocalDateTime now) {
+        return Optional.ofNullable(timelines.getOrDefault(itemId, ItemTimeline.EMPTY).nextApproved(now));
+    }
+
+    /**
+     * Отражает текущее состояние бронирования после фиксации транзакции;
+     * при откате индекс не меняется.
+     */
+    public void register(Booking booking) {
+        register(BookingInterval.of(booking));
+    }
+
+    public void register(BookingInterval interval) {
+        TransactionCallbacks.afterCommit(() -> apply(interval));
+    }
+
+    public void removeItem(Long itemId) {
+        TransactionCallbacks.afterCommit(() -> timelines.remove(itemId));
+    }
+
+    void apply(BookingInterval interval) {
+        LocalDateTime now = LocalDateTime.now();
+        timelines.compute(interval.itemId(), (itemId, timeline) -> {
+            ItemTimeline current = timeline == null ? ItemTimeline.EMPTY : timeline;
+            ItemTimeline updated = OCCUPYING_STATUSES.contains(interval.status())
+                    ? current.put(interval, now)
+                    : current.remove(interval.id(), now);
+            return updated.size() == 0 ? null : updated;
+        });
+    }
+}
@@ -0,0 +1,110 @@
+package ru.practicum.shareit.booking.availability;
+
+import ru.practicum.shareit.booking.BookingStatus;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Неизменяемое расписание одной вещи: интервалы отсортированы по началу, рядом лежат
+ * примитивные массивы начал и префиксных максимумов окончаний. Проверка пересечения —
+ * один бинарный поиск, изменения создают новую копию.
+ */
+final class ItemTimeline {
+    static final ItemTimeline EMPTY = new ItemTimeline(new BookingInterval[0]);
+
+    private final BookingInterval[] intervals;
+    private final long[] starts;
+    private final long[] maxEnds;
+
+    private ItemTimeline(BookingInterval[] intervals) {
+        this.intervals = intervals;
+        this.starts = new long[intervals.length];
+        this.maxEnds = new long[intervals.length];
+        long maxEnd = Long.MIN_VALUE;
+        for (int i = 0; i < intervals.length; i++) {
+            starts[i] = toMicros(intervals[i].start());
+            maxEnd = Math.max(maxEnd, toMicros(intervals[i].end()));
+            maxEnds[i] = maxEnd;
+        }
+    }
+
+    static ItemTimeline of(BookingInterval... intervals) {
+        BookingInterval[] sorted = intervals.clone();
+        Arrays.sort(sorted, (a, b) -> a.start().compareTo(b.start()));
+        return new ItemTimeline(sorted);
+    }
+
+    int size() {
+        return intervals.length;
+    }
+
+    /**
+     * Есть ли интервал, пересекающийся с [start, end).
+     */
+    boolean overlaps(LocalDateTime start, LocalDateTime end) {
+        // Кандидаты — только интервалы, начавшиеся раньше end; среди них достаточно максимума окончаний
+        int candidates = firstStartNotBefore(toMicros(end));
+        return candidates > 0 && maxEnds[candidates - 1] > toMicros(start);
+    }
+
+    /**
+     * Ближайшее подтверждённое бронирование, начинающееся после now, или null.
+     */
+    BookingInterval nextApproved(LocalDateTime now) {
+        for (int i = firstStartNotBefore(toMicros(now) + 1); i < intervals.length; i++) {
+            if (intervals[i].status() == BookingStatus.APPROVED) {
+                return intervals[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Копия расписания с добавленным (или заменённым по id) интервалом; закончившиеся до now отбрасываются.
+     */
+    ItemTimeline put(BookingInterval interval, LocalDateTime now) {
+        BookingInterval[] kept = retain(interval.id(), now, 1);
+        kept[kept.length - 1] = interval;
+        return of(kept);
+    }
+
+    ItemTimeline remove(Long bookingId, LocalDateTime now) {
+        BookingInterval[] kept = retain(bookingId, now, 0);
+        return kept.length == 0 ? EMPTY : new ItemTimeline(kept);
+    }
+
+    private BookingInterval[] retain(Long excludedId, LocalDateTime now, int reserve) {
+        BookingInterval[] kept = new BookingInterval[intervals.length + reserve];
+        int size = 0;
+        for (BookingInterval current : intervals) {
+            if (!current.id().equals(excludedId) && current.end().isAfter(now)) {
+                kept[size++] = current;
+            }
+        }
+        if (size + reserve == kept.length) {
+            return kept;
+        }
+        return Arrays.copyOf(kept, size + reserve);
+    }
+
+    private int firstStartNotBefore(long value) {
+        int low = 0;
+        int high = starts.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (starts[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // Микросекунды от эпохи — точность timestamp в PostgreSQL
+    private static long toMicros(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + dateTime.getNano() / 1_000;
+    }
+}
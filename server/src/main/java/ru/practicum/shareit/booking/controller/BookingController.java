@@ -1,5 +1,8 @@
 package ru.practicum.shareit.booking.controller;
 
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -10,6 +13,7 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.booking.dto.BookingApprovalResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.util.Constants;
@@ -20,6 +24,9 @@ import java.util.List;
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
 public class BookingController {
+    // Верхняя граница страницы по курсору: setMaxResults не должен получать произвольно большие значения
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final BookingService bookingService;
 
     @PostMapping
@@ -35,6 +42,13 @@ public class BookingController {
         return bookingService.approve(bookingId, userId, approved);
     }
 
+    @PatchMapping
+    public List<BookingApprovalResultDto> approveAll(@RequestBody List<Long> bookingIds,
+                                                     @RequestHeader(Constants.USER_ID_HEADER) Long userId,
+                                                     @RequestParam Boolean approved) {
+        return bookingService.approveAll(bookingIds, userId, approved);
+    }
+
     @GetMapping("/{bookingId}")
     public BookingDto getById(@PathVariable Long bookingId,
                               @RequestHeader(Constants.USER_ID_HEADER) Long userId) {
@@ -45,17 +59,35 @@ public class BookingController {
     public List<BookingDto> getAllByBooker(
             @RequestHeader(Constants.USER_ID_HEADER) Long userId,
             @RequestParam(defaultValue = "ALL") String state,
-            @RequestParam(defaultValue = "0") int from,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "0") @PositiveOrZero int from,
+            @RequestParam(defaultValue = "10") @Positive int size) {
         return bookingService.getAllByBooker(userId, state, from, size);
     }
 
+    @GetMapping(params = "after")
+    public List<BookingDto> getPageByBooker(
+            @RequestHeader(Constants.USER_ID_HEADER) Long userId,
+            @RequestParam(defaultValue = "ALL") String state,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") @Positive @Max(MAX_PAGE_SIZE) int size) {
+        return bookingService.getPageByBooker(userId, state, after, size);
+    }
+
     @GetMapping("/owner")
     public List<BookingDto> getAllByOwner(
             @RequestHeader(Constants.USER_ID_HEADER) Long userId,
             @RequestParam(defaultValue = "ALL") String state,
-            @RequestParam(defaultValue = "0") int from,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "0") @PositiveOrZero int from,
+            @RequestParam(defaultValue = "10") @Positive int size) {
         return bookingService.getAllByOwner(userId, state, from, size);
     }
+
+    @GetMapping(value = "/owner", params = "after")
+    public List<BookingDto> getPageByOwner(
+            @RequestHeader(Constants.USER_ID_HEADER) Long userId,
+            @RequestParam(defaultValue = "ALL") String state,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") @Positive @Max(MAX_PAGE_SIZE) int size) {
+        return bookingService.getPageByOwner(userId, state, after, size);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.practicum.shareit.booking.BookingApprovalOutcome;
+import ru.practicum.shareit.booking.BookingStatus;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookingApprovalResultDto {
+    private Long bookingId;
+    private BookingApprovalOutcome outcome;
+    // Статус после обработки; не раскрывается для чужих и несуществующих бронирований
+    private BookingStatus status;
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.booking.dto;
+
+import ru.practicum.shareit.booking.BookingStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Всё, что нужно для массового подтверждения бронирования: владелец вещи для проверки прав
+ * и интервал для индекса занятости. Заполняется конструктором в JPQL без загрузки сущностей.
+ */
+public record BookingApprovalView(
+        Long id,
+        Long itemId,
+        Long ownerId,
+        Long bookerId,
+        LocalDateTime start,
+        LocalDateTime end,
+        BookingStatus status
+) {
+}
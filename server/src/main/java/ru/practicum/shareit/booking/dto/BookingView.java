@@ -0,0 +1,30 @@
+package ru.practicum.shareit.booking.dto;
+
+import ru.practicum.shareit.booking.BookingStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Строка списка бронирований: только колонки, нужные для BookingDto.
+ * Заполняется конструктором в JPQL, поэтому сущности в контекст персистентности не попадают.
+ */
+public record BookingView(
+        Long id,
+        LocalDateTime start,
+        LocalDateTime end,
+        BookingStatus status,
+        Long itemId,
+        String itemName,
+        String itemDescription,
+        Boolean itemAvailable,
+        Long requestId,
+        String requestDescription,
+        LocalDateTime requestCreated,
+        Long requestorId,
+        String requestorName,
+        String requestorEmail,
+        Long bookerId,
+        String bookerName,
+        String bookerEmail
+) {
+}
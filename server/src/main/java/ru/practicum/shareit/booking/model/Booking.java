@@ -8,8 +8,12 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -23,13 +27,30 @@ import ru.practicum.shareit.user.model.User;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "bookings")
+// Всё, что читает BookingMapper.toBookingDto: вещь с запросом и бронирующий, без догрузки по строкам
+@NamedEntityGraph(name = Booking.WITH_ITEM_AND_BOOKER,
+        attributeNodes = {
+                @NamedAttributeNode(value = "item", subgraph = "item"),
+                @NamedAttributeNode("booker")
+        },
+        subgraphs = {
+                @NamedSubgraph(name = "item", attributeNodes = @NamedAttributeNode(value = "request", subgraph = "request")),
+                @NamedSubgraph(name = "request", attributeNodes = @NamedAttributeNode("requestor"))
+        })
+// Частичные индексы для WAITING/REJECTED объявлены только в schema.sql
+@Table(name = "bookings", indexes = {
+        @Index(name = "idx_bookings_booker_start_id", columnList = "booker_id, start_date DESC, id DESC"),
+        @Index(name = "idx_bookings_item_start_id", columnList = "item_id, start_date DESC, id DESC"),
+        @Index(name = "idx_bookings_booker_item_status_end", columnList = "booker_id, item_id, status, end_date")
+})
 @Getter
 @Setter
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Booking {
+    public static final String WITH_ITEM_AND_BOOKER = "Booking.withItemAndBooker";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
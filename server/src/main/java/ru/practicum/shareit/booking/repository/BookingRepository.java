@@ -1,117 +1,91 @@
 package ru.practicum.shareit.booking.repository;
 
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.availability.BookingInterval;
+import ru.practicum.shareit.booking.dto.BookingApprovalView;
 import ru.practicum.shareit.booking.model.Booking;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingViewRepository {
+    @Override
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    Optional<Booking> findById(Long id);
+
+    @Query("SELECT b FROM Booking b WHERE b.item.id IN :itemIds AND b.status = 'APPROVED' AND b.start <= :now " +
+            "AND b.start = (SELECT MAX(b2.start) FROM Booking b2 WHERE b2.item.id = b.item.id " +
+            "AND b2.status = 'APPROVED' AND b2.start <= :now)")
+    List<Booking> findLastBookingsForItems(
+            @Param("itemIds") List<Long> itemIds,
+            @Param("now") LocalDateTime now);
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
-
-    List<Booking> findAllByBookerId(Long bookerId);
-
-    List<Booking> findAllByBookerId(Long bookerId, Pageable pageable);
-
-    List<Booking> findAllByBookerIdAndStartBeforeAndEndAfter(
-            Long bookerId, LocalDateTime start, LocalDateTime end);
-
-    List<Booking> findAllByBookerIdAndStartBeforeAndEndAfter(
-            Long bookerId, LocalDateTime start, LocalDateTime end, Pageable pageable);
-
-    List<Booking> findAllByBookerIdAndEndBefore(Long bookerId, LocalDateTime end);
-
-    List<Booking> findAllByBookerIdAndEndBefore(Long bookerId, LocalDateTime end, Pageable pageable);
-
-    List<Booking> findAllByBookerIdAndStartAfter(Long bookerId, LocalDateTime start);
-
-    List<Booking> findAllByBookerIdAndStartAfter(Long bookerId, LocalDateTime start, Pageable pageable);
-
-    List<Booking> findAllByBookerIdAndStatus(Long bookerId, BookingStatus status);
-
-    List<Booking> findAllByBookerIdAndStatus(Long bookerId, BookingStatus status, Pageable pageable);
-
-    @Query("SELECT b FROM Booking b WHERE b.item.owner.id = :ownerId")
-    List<Booking> findAllByItemOwnerId(@Param("ownerId") Long ownerId);
-
-    @Query("SELECT b FROM Booking b WHERE b.item.owner.id = :ownerId")
-    List<Booking> findAllByItemOwnerId(@Param("ownerId") Long ownerId, Pageable pageable);
-
-    @Query("SELECT b FROM Booking b WHERE b.item.owner.id = :ownerId " +
-            "AND b.start < :start AND b.end > :end")
-    List<Booking> findAllByItemOwnerIdAndStartBeforeAndEndAfter(
-            @Param("ownerId") Long ownerId,
-            @Param("start") LocalDateTime start,
-            @Param("end") LocalDateTime end);
+    @Query("SELECT b FROM Booking b WHERE b.item.id IN :itemIds AND b.status = 'APPROVED' AND b.start > :now " +
+            "AND b.start = (SELECT MIN(b2.start) FROM Booking b2 WHERE b2.item.id = b.item.id " +
+            "AND b2.status = 'APPROVED' AND b2.start > :now)")
+    List<Booking> findNextBookingsForItems(
+            @Param("itemIds") List<Long> itemIds,
+            @Param("now") LocalDateTime now);
 
-    @Query("SELECT b FROM Booking b WHERE b.item.owner.id = :ownerId " +
-            "AND b.start < :start AND b.end > :end")
-    List<Booking> findAllByItemOwnerIdAndStartBeforeAndEndAfter(
-            @Param("ownerId") Long ownerId,
+    @Query("SELECT COUNT(b) > 0 FROM Booking b WHERE b.item.id = :itemId " +
+            "AND b.status IN :statuses AND b.start < :end AND b.end > :start")
+    boolean existsOverlapping(
+            @Param("itemId") Long itemId,
             @Param("start") LocalDateTime start,
             @Param("end") LocalDateTime end,
-            Pageable pageable);
-
-    @Query("SELECT b FROM Booking b WHERE b.item.owner.id = :ownerId " +
-            "AND b.end < :end")
-    List<Booking> findAllByItemOwnerIdAndEndBefore(
-            @Param("ownerId") Long ownerId,
-            @Param("end") LocalDateTime end);
-
-    @Query("SELECT b FROM Booking b WHERE b.item.owner.id = :ownerId " +
-            "AND b.end < :end")
-    List<Booking> findAllByItemOwnerIdAndEndBefore(
-            @Param("ownerId") Long ownerId,
-            @Param("end") LocalDateTime end,
-            Pageable pageable);
-
-    @Query("SELECT b FROM Booking b WHERE b.item.owner.id = :ownerId " +
-            "AND b.start > :start")
-    List<Booking> findAllByItemOwnerIdAndStartAfter(
-            @Param("ownerId") Long ownerId,
-            @Param("start") LocalDateTime start);
-
-    @Query("SELECT b FROM Booking b WHERE b.item.owner.id = :ownerId " +
-            "AND b.start > :start")
-    List<Booking> findAllByItemOwnerIdAndStartAfter(
-            @Param("ownerId") Long ownerId,
-            @Param("start") LocalDateTime start,
-            Pageable pageable);
-
-    @Query("SELECT b FROM Booking b WHERE b.item.owner.id = :ownerId " +
-            "AND b.status = :status")
-    List<Booking> findAllByItemOwnerIdAndStatus(
-            @Param("ownerId") Long ownerId,
-            @Param("status") BookingStatus status);
+            @Param("statuses") Collection<BookingStatus> statuses);
 
-    @Query("SELECT b FROM Booking b WHERE b.item.owner.id = :ownerId " +
-            "AND b.status = :status")
-    List<Booking> findAllByItemOwnerIdAndStatus(
-            @Param("ownerId") Long ownerId,
-            @Param("status") BookingStatus status,
-            Pageable pageable);
-
-    @Query("SELECT b FROM Booking b WHERE b.item.id = :itemId " +
-            "AND b.start <= :now AND b.status = 'APPROVED' " +
-            "ORDER BY b.start DESC")
-    List<Booking> findLastBookingForItem(
+    // EXISTS останавливается на первом завершённом бронировании из idx_bookings_booker_item_status_end,
+    // а не считает их все, и возвращается как есть, без внешней выборки
+    @Query("SELECT CASE WHEN EXISTS (" +
+            "SELECT b.id FROM Booking b WHERE b.booker.id = :userId AND b.item.id = :itemId " +
+            "AND b.status = 'APPROVED' AND b.end < :now) THEN true ELSE false END")
+    boolean hasUserBookedItem(
+            @Param("userId") Long userId,
             @Param("itemId") Long itemId,
             @Param("now") LocalDateTime now);
 
-    @Query("SELECT b FROM Booking b WHERE b.item.id = :itemId " +
-            "AND b.start > :now AND b.status = 'APPROVED' " +
-            "ORDER BY b.start ASC")
-    List<Booking> findNextBookingForItem(
+    // Имя автора отзыва, если у пользователя есть завершённое бронирование вещи: та же проверка,
+    // что и в hasUserBookedItem, плюс строка users по первичному ключу вместо загрузки сущности
+    @Query("SELECT u.name FROM User u WHERE u.id = :userId AND EXISTS (" +
+            "SELECT b.id FROM Booking b WHERE b.booker.id = :userId AND b.item.id = :itemId " +
+            "AND b.status = 'APPROVED' AND b.end < :now)")
+    Optional<String> findEligibleAuthorName(
+            @Param("userId") Long userId,
             @Param("itemId") Long itemId,
             @Param("now") LocalDateTime now);
 
-    @Query("SELECT COUNT(b) > 0 FROM Booking b WHERE b.booker.id = :userId " +
-            "AND b.item.id = :itemId AND b.end < :now AND b.status = 'APPROVED'")
-    boolean hasUserBookedItem(
-            @Param("userId") Long userId,
-            @Param("itemId") Long itemId,
+    @Query("SELECT new ru.practicum.shareit.booking.availability.BookingInterval(" +
+            "b.id, b.item.id, b.booker.id, b.start, b.end, b.status) " +
+            "FROM Booking b WHERE b.status IN :statuses AND b.end > :now")
+    List<BookingInterval> findIntervals(
+            @Param("statuses") Collection<BookingStatus> statuses,
             @Param("now") LocalDateTime now);
-}
\ No newline at end of file
+
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingApprovalView(" +
+            "b.id, b.item.id, i.owner.id, b.booker.id, b.start, b.end, b.status) " +
+            "FROM Booking b JOIN b.item i WHERE b.id IN :ids")
+    List<BookingApprovalView> findApprovalViews(@Param("ids") Collection<Long> ids);
+
+    // Блокирует строки, всё ещё ожидающие подтверждения. Параллельная транзакция, успевшая
+    // захватить строку раньше, дожидается здесь своей фиксации, и условие по статусу
+    // перепроверяется: обработанные ею бронирования в результат не попадают
+    @Query(value = "SELECT id FROM bookings WHERE id IN (:ids) AND status = 'WAITING' " +
+            "ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<Long> lockWaitingIds(@Param("ids") Collection<Long> ids);
+
+    // Вызывается только для id, заблокированных lockWaitingIds, поэтому обновляет их все.
+    // Контекст очищается, чтобы загруженные ранее бронирования не остались в нём со старым статусом
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE Booking b SET b.status = :status WHERE b.id IN :ids AND b.status = 'WAITING'")
+    int updateStatusIfWaiting(@Param("ids") Collection<Long> ids, @Param("status") BookingStatus status);
+}
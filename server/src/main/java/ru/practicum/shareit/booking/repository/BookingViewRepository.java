@@ -0,0 +1,27 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.BookingCursor;
+import ru.practicum.shareit.booking.BookingRole;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.dto.BookingView;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BookingViewRepository {
+    /**
+     * Страница бронирований пользователя в роли role и состоянии state на момент now
+     * одним SQL-запросом. Страница обязательна: выборка без ограничения не выполняется.
+     */
+    List<BookingView> findViews(BookingRole role, Long userId, BookingState state, LocalDateTime now,
+                                Pageable pageable);
+
+    /**
+     * Страница бронирований после курсора after в порядке (start DESC, id DESC) или первая
+     * страница, если after равен null. Позиция задаётся условием на (start, id), а не OFFSET,
+     * поэтому глубокие страницы читаются так же быстро, как первая.
+     */
+    List<BookingView> findViewsAfter(BookingRole role, Long userId, BookingState state, LocalDateTime now,
+                                     BookingCursor after, int size);
+}
\ No newline at end of file
@@ -0,0 +1,97 @@
+package ru.practicum.shareit.booking.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.util.Assert;
+import ru.practicum.shareit.booking.BookingCursor;
+import ru.practicum.shareit.booking.BookingRole;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.dto.BookingView;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Запрос списка собирается из условия роли и условия состояния. Текст запроса для каждой пары
+ * (роль, состояние) строится один раз и берётся из EnumMap, поэтому Hibernate каждый раз
+ * находит его в кэше планов, а не разбирает заново, как Criteria API.
+ */
+public class BookingViewRepositoryImpl implements BookingViewRepository {
+    // Списки бронирований читаются сразу в BookingView, без загрузки сущностей Booking, Item и User
+    private static final String VIEW_SELECT = "SELECT new ru.practicum.shareit.booking.dto.BookingView(" +
+            "b.id, b.start, b.end, b.status, " +
+            "i.id, i.name, i.description, i.available, " +
+            "r.id, r.description, r.created, rq.id, rq.name, rq.email, " +
+            "u.id, u.name, u.email) " +
+            "FROM Booking b JOIN b.item i JOIN b.booker u " +
+            "LEFT JOIN i.request r LEFT JOIN r.requestor rq ";
+    private static final Map<BookingRole, String> ROLE_CONDITIONS = new EnumMap<>(Map.of(
+            BookingRole.BOOKER, "b.booker.id = :userId",
+            // Вещи владельца отбираются подзапросом: выборка идёт от индекса items(owner_id),
+            // а не от полного чтения bookings, независимо от порядка LEFT JOIN в запросе
+            BookingRole.OWNER, "b.item.id IN (SELECT o.id FROM Item o WHERE o.owner.id = :userId)"));
+    // Статус подставляется литералом: по нему выбираются частичные индексы WAITING и REJECTED
+    private static final Map<BookingState, String> STATE_CONDITIONS = new EnumMap<>(Map.of(
+            BookingState.ALL, "",
+            BookingState.CURRENT, " AND b.start < :now AND b.end > :now",
+            BookingState.PAST, " AND b.end < :now",
+            BookingState.FUTURE, " AND b.start > :now",
+            BookingState.WAITING, " AND b.status = 'WAITING'",
+            BookingState.REJECTED, " AND b.status = 'REJECTED'"));
+    // Курсор раскрыт в диапазон по start_date и условие на id: диапазон берётся из составного
+    // индекса (…, start_date DESC, id DESC), а id проверяется только для строк с равным start
+    private static final String SEEK = " AND b.start <= :afterStart AND (b.start < :afterStart OR b.id < :afterId)";
+    private static final String SEEK_ORDER = " ORDER BY b.start DESC, b.id DESC";
+    private static final Map<BookingRole, Map<BookingState, String>> QUERIES = new EnumMap<>(BookingRole.class);
+
+    static {
+        ROLE_CONDITIONS.forEach((role, roleCondition) -> {
+            Map<BookingState, String> queries = new EnumMap<>(BookingState.class);
+            STATE_CONDITIONS.forEach((state, stateCondition) ->
+                    queries.put(state, VIEW_SELECT + "WHERE " + roleCondition + stateCondition));
+            QUERIES.put(role, queries);
+        });
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BookingView> findViews(BookingRole role, Long userId, BookingState state, LocalDateTime now,
+                                       Pageable pageable) {
+        Assert.isTrue(pageable.isPaged(), "Список бронирований запрашивается только постранично");
+
+        String jpql = QUERIES.get(role).get(state);
+        TypedQuery<BookingView> query = entityManager
+                .createQuery(QueryUtils.applySorting(jpql, pageable.getSort(), "b"), BookingView.class)
+                .setParameter("userId", userId)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize());
+        if (STATE_CONDITIONS.get(state).contains(":now")) {
+            query.setParameter("now", now);
+        }
+        return query.getResultList();
+    }
+
+    @Override
+    public List<BookingView> findViewsAfter(BookingRole role, Long userId, BookingState state, LocalDateTime now,
+                                            BookingCursor after, int size) {
+        String jpql = QUERIES.get(role).get(state) + (after == null ? "" : SEEK) + SEEK_ORDER;
+        TypedQuery<BookingView> query = entityManager.createQuery(jpql, BookingView.class)
+                .setParameter("userId", userId)
+                .setMaxResults(size);
+        if (STATE_CONDITIONS.get(state).contains(":now")) {
+            query.setParameter("now", now);
+        }
+        if (after != null) {
+            query.setParameter("afterStart", after.start())
+                    .setParameter("afterId", after.id());
+        }
+        return query.getResultList();
+    }
+}
\ No newline at end of file
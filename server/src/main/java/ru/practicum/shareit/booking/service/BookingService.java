@@ -1,5 +1,6 @@
 package ru.practicum.shareit.booking.service;
 
+import ru.practicum.shareit.booking.dto.BookingApprovalResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 
 import java.util.List;
@@ -9,12 +10,18 @@ public interface BookingService {
 
     BookingDto approve(Long bookingId, Long userId, Boolean approved);
 
+    List<BookingApprovalResultDto> approveAll(List<Long> bookingIds, Long userId, Boolean approved);
+
     BookingDto getById(Long bookingId, Long userId);
 
     List<BookingDto> getAllByBooker(Long userId, String state, int from, int size);
 
     List<BookingDto> getAllByOwner(Long userId, String state, int from, int size);
 
+    List<BookingDto> getPageByBooker(Long userId, String state, String after, int size);
+
+    List<BookingDto> getPageByOwner(Long userId, String state, String after, int size);
+
     default List<BookingDto> getAllByBooker(Long userId, String state) {
         return getAllByBooker(userId, state, 0, 10);
     }
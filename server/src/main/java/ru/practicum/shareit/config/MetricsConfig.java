@@ -0,0 +1,78 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.util.ClassUtils;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.metrics.JdbcTimingListener;
+import ru.practicum.shareit.metrics.ServiceTimingInterceptor;
+import ru.practicum.shareit.metrics.SqlStatementCounter;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * Метрики сервера сверх стандартных http.server.requests и spring.data.repository.invocations:
+ * время методов сервисов, число и время SQL-запросов на HTTP-запрос (см. RequestTimingFilter).
+ * Гистограммы включаются в application.properties.
+ */
+@Configuration
+public class MetricsConfig {
+    private static final List<Class<?>> TIMED_SERVICES =
+            List.of(BookingService.class, ItemService.class, ItemRequestService.class, UserService.class);
+
+    /**
+     * Совет инфраструктурный, чтобы его подхватывал тот же автопрокси, что и @Transactional;
+     * наивысший приоритет ставит замер снаружи транзакции, вместе с фиксацией.
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor serviceTimingAdvisor(ObjectProvider<MeterRegistry> meterRegistry) {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(new StaticMethodMatcherPointcut() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return TIMED_SERVICES.stream().anyMatch(service -> service.isAssignableFrom(targetClass)
+                        && ClassUtils.hasMethod(service, method.getName(), method.getParameterTypes()));
+            }
+        }, new ServiceTimingInterceptor(meterRegistry));
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+
+    /**
+     * Число и время SQL-запросов текущего HTTP-запроса для Server-Timing и shareit.http.sql.statements.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer requestTimingCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR,
+                    new SqlStatementCounter(configuredInspector(properties.get(AvailableSettings.STATEMENT_INSPECTOR))));
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, JdbcTimingListener.class.getName());
+        };
+    }
+
+    private static StatementInspector configuredInspector(Object configured) {
+        if (configured == null || configured instanceof StatementInspector) {
+            return (StatementInspector) configured;
+        }
+        Class<?> inspectorClass = configured instanceof Class<?> type
+                ? type
+                : ClassUtils.resolveClassName(configured.toString(), MetricsConfig.class.getClassLoader());
+        return (StatementInspector) BeanUtils.instantiateClass(inspectorClass);
+    }
+}
\ No newline at end of file
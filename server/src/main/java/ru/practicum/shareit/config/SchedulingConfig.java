@@ -0,0 +1,12 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Фоновые задачи по расписанию: сверка сводки отзывов (ItemCommentStatsReconciler).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
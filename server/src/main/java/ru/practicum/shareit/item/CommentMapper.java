@@ -4,7 +4,9 @@ import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.NullValuePropertyMappingStrategy;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.CommentView;
 import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.ItemCommentStats;
 
 @Mapper(componentModel = "spring",
         nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE,
@@ -14,6 +16,14 @@ public interface CommentMapper {
     @Mapping(target = "authorName", source = "author.name")
     CommentDto toCommentDto(Comment comment);
 
+    CommentDto toCommentDto(CommentView view);
+
+    @Mapping(target = "id", source = "lastCommentId")
+    @Mapping(target = "text", source = "lastCommentText")
+    @Mapping(target = "authorName", source = "lastAuthorName")
+    @Mapping(target = "created", source = "lastCommentAt")
+    CommentDto toLastCommentDto(ItemCommentStats stats);
+
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "author", ignore = true)
     @Mapping(target = "item", ignore = true)
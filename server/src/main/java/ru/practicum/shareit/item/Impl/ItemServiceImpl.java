@@ -2,31 +2,52 @@ package ru.practicum.shareit.item.Impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.availability.ItemAvailabilityIndex;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
 import ru.practicum.shareit.booking.exception.ShareItException;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.item.CommentMapper;
 import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.cache.ItemDtoCache;
+import ru.practicum.shareit.item.cache.ItemSnapshot;
+import ru.practicum.shareit.item.dto.CommentCount;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.CommentView;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemCommentStats;
 import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemCommentStatsRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.util.EntityCacheEvictor;
+import ru.practicum.shareit.util.OffsetBasedPageRequest;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -34,14 +55,25 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 @Slf4j
 public class ItemServiceImpl implements ItemService {
+    private static final TransactionDefinition READ_ONLY = readOnlyDefinition();
+
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
+    private final ItemCommentStatsRepository commentStatsRepository;
     private final ItemRequestRepository itemRequestRepository;
     private final ItemMapper itemMapper;
     private final CommentMapper commentMapper;
     private final BookingMapper bookingMapper;
+    private final ItemAvailabilityIndex availabilityIndex;
+    private final EntityCacheEvictor cacheEvictor;
+    private final ItemDtoCache itemDtoCache;
+    private final PlatformTransactionManager transactionManager;
+
+    // Сколько последних отзывов вещи попадает в ItemDto; остальные доступны через GET /items/{id}/comments
+    @Value("${shareit.item-comments.limit:10}")
+    private int commentsLimit;
 
     @Override
     public List<ItemDto> getAll(Long userId) {
@@ -50,74 +82,162 @@ public class ItemServiceImpl implements ItemService {
                 .map(Item::getId)
                 .collect(Collectors.toList());
 
-        Map<Long, List<Comment>> commentsByItemId = commentRepository.findByItemIdIn(itemIds).stream()
-                .collect(Collectors.groupingBy(comment -> comment.getItem().getId()));
+        Map<Long, List<CommentView>> commentsByItemId = commentRepository.findLatestByItemIds(itemIds, commentsLimit);
+        Map<Long, ItemCommentStats> statsByItemId = findCommentStats(itemIds);
 
         LocalDateTime now = LocalDateTime.now();
 
+        // Все вещи принадлежат пользователю, поэтому бронирования подтягиваются двумя запросами на весь список
+        Map<Long, BookingShortDto> lastBookingsByItemId = itemIds.isEmpty()
+                ? Collections.emptyMap()
+                : toBookingsByItemId(bookingRepository.findLastBookingsForItems(itemIds, now));
+        Map<Long, BookingShortDto> nextBookingsByItemId = itemIds.isEmpty()
+                ? Collections.emptyMap()
+                : toBookingsByItemId(bookingRepository.findNextBookingsForItems(itemIds, now));
+
         return items.stream()
                 .map(item -> {
                     ItemDto itemDto = itemMapper.toItemDto(item);
 
-                    itemDto.setLastBooking(null);
-                    itemDto.setNextBooking(null);
+                    itemDto.setLastBooking(lastBookingsByItemId.get(item.getId()));
+                    itemDto.setNextBooking(nextBookingsByItemId.get(item.getId()));
 
-                    if (item.getOwner().getId().equals(userId)) {
-                        List<Booking> lastBookings = bookingRepository.findLastBookingForItem(item.getId(), now);
-                        if (!lastBookings.isEmpty()) {
-                            itemDto.setLastBooking(bookingMapper.toBookingShortDto(lastBookings.get(0)));
-                        }
+                    setComments(itemDto, commentsByItemId.getOrDefault(item.getId(), Collections.emptyList()));
+                    setCommentStats(itemDto, statsByItemId.get(item.getId()));
 
-                        List<Booking> nextBookings = bookingRepository.findNextBookingForItem(item.getId(), now);
-                        if (!nextBookings.isEmpty()) {
-                            itemDto.setNextBooking(bookingMapper.toBookingShortDto(nextBookings.get(0)));
-                        }
-                    }
+                    return itemDto;
+                })
+                .collect(Collectors.toList());
+    }
 
-                    List<Comment> comments = commentsByItemId.getOrDefault(item.getId(), Collections.emptyList());
-                    itemDto.setComments(comments.stream()
-                            .map(commentMapper::toCommentDto)
-                            .collect(Collectors.toList()));
+    private void setComments(ItemDto itemDto, List<CommentView> comments) {
+        itemDto.setComments(comments.stream()
+                .map(commentMapper::toCommentDto)
+                .collect(Collectors.toList()));
+    }
 
+    /**
+     * Блокирует сводку вещи, создавая её, если вещь добавлена в обход сервиса. Создавшая сводку
+     * транзакция заполняет счётчик по уже зафиксированным отзывам: отзывы параллельных транзакций
+     * в него не попадают, и каждая из них затем увеличит счётчик сама.
+     */
+    private ItemCommentStats lockCommentStats(Long itemId) {
+        Optional<ItemCommentStats> existing = commentStatsRepository.findByIdForUpdate(itemId);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+        boolean created = commentStatsRepository.insertMissing(List.of(itemId)) > 0;
+        ItemCommentStats stats = commentStatsRepository.findByIdForUpdate(itemId)
+                .orElseThrow(() -> new ShareItException.NotFoundException("Не найдена вещь с id: " + itemId));
+        if (created) {
+            // Отзыв этой транзакции уже вставлен и учтён в подсчёте, его прибавит вызывающий код
+            stats.setCommentCount(commentRepository.countByItemIds(List.of(itemId)).stream()
+                    .mapToLong(CommentCount::count)
+                    .sum() - 1);
+        }
+        return stats;
+    }
+
+    private Map<Long, ItemCommentStats> findCommentStats(Collection<Long> itemIds) {
+        if (itemIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return commentStatsRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(ItemCommentStats::getItemId, Function.identity()));
+    }
+
+    // Сводки нет только у вещей, добавленных в обход сервиса, до их пересчёта ItemCommentStatsReconciler
+    private void setCommentStats(ItemDto itemDto, ItemCommentStats stats) {
+        if (stats == null) {
+            itemDto.setCommentCount(0L);
+            return;
+        }
+        itemDto.setCommentCount(stats.getCommentCount());
+        if (stats.getLastCommentId() != null) {
+            itemDto.setLastComment(commentMapper.toLastCommentDto(stats));
+        }
+    }
+
+    // Вещи из поиска: сводка отзывов одним запросом на страницу, без чтения comments
+    private List<ItemDto> toItemDtosWithCommentStats(List<Item> items) {
+        Map<Long, ItemCommentStats> statsByItemId = findCommentStats(items.stream().map(Item::getId).toList());
+        return items.stream()
+                .map(item -> {
+                    ItemDto itemDto = itemMapper.toItemDto(item);
+                    setCommentStats(itemDto, statsByItemId.get(item.getId()));
                     return itemDto;
                 })
                 .collect(Collectors.toList());
     }
 
+    private Map<Long, BookingShortDto> toBookingsByItemId(List<Booking> bookings) {
+        return bookings.stream()
+                .map(bookingMapper::toBookingShortDto)
+                .collect(Collectors.toMap(BookingShortDto::getItemId, Function.identity(),
+                        (first, second) -> first.getId() < second.getId() ? first : second));
+    }
+
+    /**
+     * Вне транзакции: попадание в кэш не берёт соединение из пула и не открывает транзакцию.
+     * При промахе снимок собирается в отдельной транзакции только для чтения.
+     */
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public ItemDto getById(Long id, Long userId) {
+        return itemDtoCache.get(id, this::loadSnapshotInTransaction).toItemDto(userId);
+    }
+
+    private ItemSnapshot loadSnapshotInTransaction(Long id) {
+        return new TransactionTemplate(transactionManager, READ_ONLY).execute(status -> loadSnapshot(id));
+    }
+
+    private static TransactionDefinition readOnlyDefinition() {
+        DefaultTransactionDefinition definition = new DefaultTransactionDefinition();
+        definition.setReadOnly(true);
+        return definition;
+    }
+
+    // Собирает вещь для кэша: отзывы и сводку бронирований, которую увидит только владелец
+    private ItemSnapshot loadSnapshot(Long id) {
         Item item = itemRepository.findById(id)
                 .orElseThrow(() -> new ShareItException.NotFoundException("Не найдена вещь с id: " + id));
 
         ItemDto itemDto = itemMapper.toItemDto(item);
+        itemDto.setRequest(detachedRequest(item.getRequest()));
 
-        if (itemDto.getLastBooking() == null) {
-            itemDto.setLastBooking(null);
-        }
-        if (itemDto.getNextBooking() == null) {
-            itemDto.setNextBooking(null);
-        }
+        setComments(itemDto, commentRepository.findLatestByItemIds(List.of(id), commentsLimit)
+                .getOrDefault(id, Collections.emptyList()));
+        setCommentStats(itemDto, commentStatsRepository.findById(id).orElse(null));
 
-        List<Comment> comments = commentRepository.findByItemId(id);
-        itemDto.setComments(comments.stream()
-                .map(commentMapper::toCommentDto)
-                .collect(Collectors.toList()));
+        LocalDateTime now = LocalDateTime.now();
 
-        if (item.getOwner().getId().equals(userId)) {
-            LocalDateTime now = LocalDateTime.now();
+        // Те же запросы, что и для списка вещей владельца: по одной строке на вещь вместо всех бронирований
+        List<Long> itemIds = List.of(id);
+        BookingShortDto lastBooking = toBookingsByItemId(
+                bookingRepository.findLastBookingsForItems(itemIds, now)).get(id);
+        BookingShortDto nextBooking = toBookingsByItemId(
+                bookingRepository.findNextBookingsForItems(itemIds, now)).get(id);
 
-            List<Booking> lastBookings = bookingRepository.findLastBookingForItem(id, now);
-            if (!lastBookings.isEmpty()) {
-                itemDto.setLastBooking(bookingMapper.toBookingShortDto(lastBookings.get(0)));
-            }
+        return new ItemSnapshot(itemDto, item.getOwner().getId(), lastBooking, nextBooking,
+                nextBooking == null ? null : nextBooking.getStart());
+    }
 
-            List<Booking> nextBookings = bookingRepository.findNextBookingForItem(id, now);
-            if (!nextBookings.isEmpty()) {
-                itemDto.setNextBooking(bookingMapper.toBookingShortDto(nextBookings.get(0)));
-            }
+    // Копия запроса без прокси Hibernate: кэшированный ответ сериализуется вне сессии, в которой был загружен
+    private ItemRequest detachedRequest(ItemRequest request) {
+        if (request == null) {
+            return null;
         }
-
-        return itemDto;
+        User requestor = request.getRequestor();
+        return ItemRequest.builder()
+                .id(request.getId())
+                .description(request.getDescription())
+                .created(request.getCreated())
+                .requestor(User.builder()
+                        .id(requestor.getId())
+                        .name(requestor.getName())
+                        .email(requestor.getEmail())
+                        .build())
+                .build();
     }
 
     @Override
@@ -134,7 +254,11 @@ public class ItemServiceImpl implements ItemService {
             item.setRequest(request);
         }
 
-        return itemMapper.toItemDto(itemRepository.save(item));
+        Item saved = itemRepository.save(item);
+        commentStatsRepository.save(ItemCommentStats.builder()
+                .itemId(saved.getId())
+                .build());
+        return itemMapper.toItemDto(saved);
     }
 
     @Transactional(readOnly = true)
@@ -154,7 +278,10 @@ public class ItemServiceImpl implements ItemService {
         }
 
         Item updatedItem = itemMapper.updateItemFields(item, itemDto);
-        return itemMapper.toItemDto(itemRepository.save(updatedItem));
+        ItemDto result = itemMapper.toItemDto(itemRepository.save(updatedItem));
+        cacheEvictor.evictAfterCommit(Item.class, id);
+        itemDtoCache.invalidate(id);
+        return result;
     }
 
     @Override
@@ -162,40 +289,109 @@ public class ItemServiceImpl implements ItemService {
     public void delete(Long id) {
         itemRepository.findById(id)
                 .orElseThrow(() -> new ShareItException.NotFoundException("Не найдена вещь с id: " + id));
+        commentStatsRepository.deleteById(id);
         itemRepository.deleteById(id);
+        availabilityIndex.removeItem(id);
+        cacheEvictor.evictAfterCommit(Item.class, id);
+        itemDtoCache.invalidate(id);
     }
 
     @Override
-    public List<ItemDto> search(String text) {
+    public List<ItemDto> search(String text, int from, int size) {
         if (text.isBlank()) {
             return new ArrayList<>();
         }
 
-        return itemRepository.search(text).stream()
-                .map(itemMapper::toItemDto)
-                .collect(Collectors.toList());
+        Pageable pageRequest = OffsetBasedPageRequest.of(from, size);
+        return toItemDtosWithCommentStats(itemRepository.search(text, pageRequest));
+    }
+
+    @Override
+    public List<ItemDto> searchAvailable(String text, LocalDateTime start, LocalDateTime end, int from, int size) {
+        validateInterval(start, end);
+        if (text.isBlank()) {
+            return new ArrayList<>();
+        }
+
+        Pageable pageRequest = OffsetBasedPageRequest.of(from, size);
+        return toItemDtosWithCommentStats(itemRepository.searchAvailable(text, start, end,
+                ItemAvailabilityIndex.OCCUPYING_STATUSES, pageRequest));
     }
 
     @Override
     @Transactional
     public CommentDto createComment(Long itemId, CommentDto commentDto, Long userId) {
+        // Подходящее бронирование подтверждает существование и вещи, и пользователя, поэтому
+        // при успехе они не загружаются: имя автора приходит из того же запроса.
+        // Отдельные проверки нужны только для текста ошибки
+        Optional<String> authorName = bookingRepository.findEligibleAuthorName(userId, itemId, LocalDateTime.now());
+        if (authorName.isEmpty()) {
+            if (!itemRepository.existsById(itemId)) {
+                throw new ShareItException.NotFoundException("Не найдена вещь с id: " + itemId);
+            }
+            if (!userRepository.existsById(userId)) {
+                throw new ShareItException.NotFoundException("Не найден пользователь с id: " + userId);
+            }
+            throw new ShareItException.BadRequestException("Пользователь не может оставить отзыв, так как не брал вещь в аренду или аренда еще не завершена");
+        }
+
+        Comment comment = commentMapper.toComment(commentDto);
+        comment.setItem(itemRepository.getReferenceById(itemId));
+        comment.setAuthor(userRepository.getReferenceById(userId));
+        comment.setCreated(LocalDateTime.now());
+
+        Comment saved = commentRepository.save(comment);
+        // Сводка обновляется под блокировкой её строки: параллельные отзывы не теряют приращений
+        ItemCommentStats stats = lockCommentStats(itemId);
+        stats.setCommentCount(stats.getCommentCount() + 1);
+        if (stats.getLastCommentAt() == null || !saved.getCreated().isBefore(stats.getLastCommentAt())) {
+            stats.setLastComment(saved.getId(), saved.getText(), authorName.get(), saved.getCreated());
+        }
+        itemDtoCache.invalidate(itemId);
+        // Ответ собирается из уже известных полей, чтобы не инициализировать прокси автора
+        return commentMapper.toCommentDto(new CommentView(saved.getId(), itemId, saved.getText(),
+                authorName.get(), saved.getCreated()));
+    }
+
+    @Override
+    public List<CommentDto> getComments(Long itemId, int from, int size) {
+        if (!itemRepository.existsById(itemId)) {
+            throw new ShareItException.NotFoundException("Не найдена вещь с id: " + itemId);
+        }
+
+        Pageable pageRequest = OffsetBasedPageRequest.of(from, size);
+        return commentRepository.findViewsByItemId(itemId, pageRequest).stream()
+                .map(commentMapper::toCommentDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public ItemAvailabilityDto getAvailability(Long itemId, Long userId, LocalDateTime start, LocalDateTime end) {
+        validateInterval(start, end);
+
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new ShareItException.NotFoundException("Не найдена вещь с id: " + itemId));
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ShareItException.NotFoundException("Не найден пользователь с id: " + userId));
+        ItemAvailabilityDto availability = ItemAvailabilityDto.builder()
+                .itemId(itemId)
+                .start(start)
+                .end(end)
+                .available(item.getAvailable() && availabilityIndex.isAvailable(itemId, start, end))
+                .build();
 
-        boolean hasBookedItem = bookingRepository.hasUserBookedItem(userId, itemId, LocalDateTime.now());
-
-        if (!hasBookedItem) {
-            throw new ShareItException.BadRequestException("Пользователь не может оставить отзыв, так как не брал вещь в аренду или аренда еще не завершена");
+        // Как и в getById, сведения о бронированиях видит только владелец
+        if (item.getOwner().getId().equals(userId)) {
+            availabilityIndex.findNextApproved(itemId, LocalDateTime.now())
+                    .map(bookingMapper::toBookingShortDto)
+                    .ifPresent(availability::setNextBooking);
         }
 
-        Comment comment = commentMapper.toComment(commentDto);
-        comment.setItem(item);
-        comment.setAuthor(user);
-        comment.setCreated(LocalDateTime.now());
+        return availability;
+    }
 
-        return commentMapper.toCommentDto(commentRepository.save(comment));
+    private void validateInterval(LocalDateTime start, LocalDateTime end) {
+        if (!start.isBefore(end)) {
+            throw new ShareItException.BadRequestException("Некорректный интервал: начало должно быть раньше окончания");
+        }
     }
 }
\ No newline at end of file
@@ -16,6 +16,8 @@ public interface ItemMapper {
     @Mapping(target = "lastBooking", expression = "java(null)")
     @Mapping(target = "nextBooking", expression = "java(null)")
     @Mapping(target = "comments", expression = "java(new java.util.ArrayList<>())")
+    @Mapping(target = "commentCount", ignore = true)
+    @Mapping(target = "lastComment", ignore = true)
     ItemDto toItemDto(Item item);
 
     @Mapping(target = "owner", ignore = true)
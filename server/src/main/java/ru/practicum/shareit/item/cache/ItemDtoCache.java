@@ -0,0 +1,75 @@
+package ru.practicum.shareit.item.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.util.TransactionCallbacks;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+/**
+ * Кэш собранных ItemDto для GET /items/{id}. Попадание обслуживается без обращения к базе.
+ * Запись живёт не дольше ttl и не дольше начала ближайшего подтверждённого бронирования,
+ * после которого lastBooking и nextBooking меняются без каких-либо записей в базу.
+ * Изменения вещи, отзывов и бронирований сбрасывают запись через invalidate.
+ */
+@Component
+public class ItemDtoCache {
+    private static final String CACHE_NAME = "item-dto";
+
+    private final Cache<Long, ItemSnapshot> cache;
+    private final Counter invalidations;
+
+    public ItemDtoCache(MeterRegistry meterRegistry,
+                        @Value("${shareit.item-cache.maximum-size:10000}") long maximumSize,
+                        @Value("${shareit.item-cache.ttl-seconds:300}") long ttlSeconds) {
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new BookingBoundaryExpiry(ttl))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        this.invalidations = meterRegistry.counter("cache.invalidations", "cache", CACHE_NAME);
+    }
+
+    public ItemSnapshot get(Long itemId, Function<Long, ItemSnapshot> loader) {
+        return cache.get(itemId, loader);
+    }
+
+    /**
+     * Сбрасывает запись сразу и ещё раз по завершении транзакции: чтение, успевшее между
+     * изменением и фиксацией загрузить старое состояние, не переживёт фиксацию,
+     * а незафиксированное состояние, прочитанное внутри транзакции, не переживёт откат.
+     */
+    public void invalidate(Long itemId) {
+        cache.invalidate(itemId);
+        invalidations.increment();
+        TransactionCallbacks.afterCompletion(() -> cache.invalidate(itemId));
+    }
+
+    // Срок жизни пересчитывается при каждой записи; чтение его не продлевает
+    private record BookingBoundaryExpiry(Duration ttl) implements Expiry<Long, ItemSnapshot> {
+        @Override
+        public long expireAfterCreate(Long itemId, ItemSnapshot snapshot, long currentTime) {
+            return snapshot.timeToLive(ttl, LocalDateTime.now()).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(Long itemId, ItemSnapshot snapshot, long currentTime, long currentDuration) {
+            return expireAfterCreate(itemId, snapshot, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Long itemId, ItemSnapshot snapshot, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.item.cache;
+
+import ru.practicum.shareit.booking.dto.BookingShortDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+/**
+ * Собранное представление вещи для GET /items/{id}: вещь с отзывами и сводка бронирований для владельца.
+ * refreshAt — момент, когда ближайшее бронирование начнётся и сводка устареет сама по себе (null, если такого нет).
+ */
+public record ItemSnapshot(
+        ItemDto item,
+        Long ownerId,
+        BookingShortDto lastBooking,
+        BookingShortDto nextBooking,
+        LocalDateTime refreshAt
+) {
+    /**
+     * Отдельная копия для ответа: кэшированный экземпляр наружу не выдаётся.
+     */
+    public ItemDto toItemDto(Long userId) {
+        boolean owner = ownerId.equals(userId);
+        return item.toBuilder()
+                .comments(new ArrayList<>(item.getComments()))
+                .lastBooking(owner ? lastBooking : null)
+                .nextBooking(owner ? nextBooking : null)
+                .build();
+    }
+
+    Duration timeToLive(Duration maximum, LocalDateTime now) {
+        if (refreshAt == null) {
+            return maximum;
+        }
+        Duration untilBoundary = Duration.between(now, refreshAt);
+        if (untilBoundary.isNegative()) {
+            return Duration.ZERO;
+        }
+        return untilBoundary.compareTo(maximum) < 0 ? untilBoundary : maximum;
+    }
+}
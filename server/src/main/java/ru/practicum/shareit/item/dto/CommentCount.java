@@ -0,0 +1,7 @@
+package ru.practicum.shareit.item.dto;
+
+public record CommentCount(
+        Long itemId,
+        Long count
+) {
+}
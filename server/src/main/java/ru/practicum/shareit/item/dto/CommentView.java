@@ -0,0 +1,16 @@
+package ru.practicum.shareit.item.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Строка отзыва с именем автора, прочитанная одним запросом вместе с отзывом:
+ * сущности Comment и User в контекст персистентности не попадают.
+ */
+public record CommentView(
+        Long id,
+        Long itemId,
+        String text,
+        String authorName,
+        LocalDateTime created
+) {
+}
@@ -29,5 +29,9 @@ public class ItemDto {
     @Builder.Default
     private List<CommentDto> comments = new ArrayList<>();
 
+    // Число всех отзывов вещи и последний из них (текст укорочен); в comments — только последние отзывы
+    private Long commentCount;
+    private CommentDto lastComment;
+
     private Long requestId;
 }
\ No newline at end of file
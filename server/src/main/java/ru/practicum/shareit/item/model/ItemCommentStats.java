@@ -0,0 +1,65 @@
+package ru.practicum.shareit.item.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Сводка отзывов вещи: их число и последний отзыв. Обновляется при создании отзыва
+ * и пересчитывается ItemCommentStatsReconciler, поэтому списки вещей не читают comments.
+ * Хранится отдельно от items, чтобы новый отзыв не вытеснял вещь из кэша второго уровня.
+ */
+@Entity
+@Table(name = "item_comment_stats")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemCommentStats {
+    public static final int TEXT_SUMMARY_LENGTH = 200;
+
+    @Id
+    @Column(name = "item_id")
+    private Long itemId;
+
+    @Column(name = "comment_count", nullable = false)
+    private long commentCount;
+
+    @Column(name = "last_comment_id")
+    private Long lastCommentId;
+
+    @Column(name = "last_comment_text", length = TEXT_SUMMARY_LENGTH)
+    private String lastCommentText;
+
+    @Column(name = "last_author_name")
+    private String lastAuthorName;
+
+    @Column(name = "last_comment_at")
+    private LocalDateTime lastCommentAt;
+
+    /**
+     * Запоминает отзыв как последний; текст укорачивается до TEXT_SUMMARY_LENGTH символов.
+     */
+    public void setLastComment(Long id, String text, String authorName, LocalDateTime created) {
+        lastCommentId = id;
+        lastCommentText = text.length() > TEXT_SUMMARY_LENGTH ? text.substring(0, TEXT_SUMMARY_LENGTH) : text;
+        lastAuthorName = authorName;
+        lastCommentAt = created;
+    }
+
+    public void clearLastComment() {
+        lastCommentId = null;
+        lastCommentText = null;
+        lastAuthorName = null;
+        lastCommentAt = null;
+    }
+}
@@ -1,13 +1,27 @@
 package ru.practicum.shareit.item.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.item.dto.CommentCount;
+import ru.practicum.shareit.item.dto.CommentView;
 import ru.practicum.shareit.item.model.Comment;
 
+import java.util.Collection;
 import java.util.List;
 
-public interface CommentRepository extends JpaRepository<Comment, Long> {
+public interface CommentRepository extends JpaRepository<Comment, Long>, CommentViewRepository {
 
-    List<Comment> findByItemId(Long itemId);
+    @Query("SELECT new ru.practicum.shareit.item.dto.CommentView(c.id, c.item.id, c.text, a.name, c.created) " +
+            "FROM Comment c JOIN c.author a " +
+            "WHERE c.item.id = :itemId " +
+            "ORDER BY c.created DESC, c.id DESC")
+    List<CommentView> findViewsByItemId(@Param("itemId") Long itemId, Pageable pageable);
 
-    List<Comment> findByItemIdIn(List<Long> itemIds);
-}
\ No newline at end of file
+    @Query("SELECT new ru.practicum.shareit.item.dto.CommentCount(c.item.id, COUNT(c)) " +
+            "FROM Comment c " +
+            "WHERE c.item.id IN :itemIds " +
+            "GROUP BY c.item.id")
+    List<CommentCount> countByItemIds(@Param("itemIds") Collection<Long> itemIds);
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.item.repository;
+
+import ru.practicum.shareit.item.dto.CommentView;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface CommentViewRepository {
+    /**
+     * Не больше limit последних отзывов каждой вещи, новые первыми, с именами авторов
+     * одним SQL-запросом. Вещи без отзывов в результат не попадают.
+     */
+    Map<Long, List<CommentView>> findLatestByItemIds(Collection<Long> itemIds, int limit);
+}
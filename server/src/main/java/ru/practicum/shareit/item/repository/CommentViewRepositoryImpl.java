@@ -0,0 +1,57 @@
+package ru.practicum.shareit.item.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import ru.practicum.shareit.item.dto.CommentView;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Первые limit отзывов каждой вещи отбираются оконной функцией ROW_NUMBER по индексу
+ * comments(item_id, created DESC, id DESC), а не загрузкой всех отзывов в память.
+ */
+public class CommentViewRepositoryImpl implements CommentViewRepository {
+    private static final String LATEST_COMMENTS = "SELECT c.id, c.item_id, c.text, u.name, c.created " +
+            "FROM (SELECT id, item_id, text, author_id, created, " +
+            "ROW_NUMBER() OVER (PARTITION BY item_id ORDER BY created DESC, id DESC) AS rn " +
+            "FROM comments WHERE item_id IN (:itemIds)) c " +
+            "JOIN users u ON u.id = c.author_id " +
+            "WHERE c.rn <= :limit " +
+            "ORDER BY c.item_id, c.created DESC, c.id DESC";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map<Long, List<CommentView>> findLatestByItemIds(Collection<Long> itemIds, int limit) {
+        if (itemIds.isEmpty() || limit <= 0) {
+            return Map.of();
+        }
+
+        List<Object[]> rows = entityManager.createNativeQuery(LATEST_COMMENTS)
+                .setParameter("itemIds", itemIds)
+                .setParameter("limit", limit)
+                .getResultList();
+
+        Map<Long, List<CommentView>> latest = new HashMap<>();
+        for (Object[] row : rows) {
+            Long itemId = ((Number) row[1]).longValue();
+            latest.computeIfAbsent(itemId, id -> new ArrayList<>())
+                    .add(new CommentView(((Number) row[0]).longValue(), itemId, (String) row[2], (String) row[3],
+                            toLocalDateTime(row[4])));
+        }
+        return latest;
+    }
+
+    // Тип значения TIMESTAMP в нативном запросе зависит от драйвера
+    private static LocalDateTime toLocalDateTime(Object value) {
+        return value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) value;
+    }
+}
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.item.repository;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.model.ItemCommentStats;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ItemCommentStatsRepository extends JpaRepository<ItemCommentStats, Long> {
+
+    // Блокировка сводки сериализует обновления счётчика одной вещи
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ItemCommentStats s WHERE s.itemId = :itemId")
+    Optional<ItemCommentStats> findByIdForUpdate(@Param("itemId") Long itemId);
+
+    // Строки блокируются в порядке item_id, чтобы пересчёт пачки не взаимоблокировался с другими
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ItemCommentStats s WHERE s.itemId IN :itemIds ORDER BY s.itemId")
+    List<ItemCommentStats> findAllByIdForUpdate(@Param("itemIds") Collection<Long> itemIds);
+
+    // Пустые сводки для вещей, у которых их ещё нет. Строка, вставленная параллельно, не даёт
+    // ошибки: вставка дожидается её фиксации и пропускает её. Возвращает число созданных сводок
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO item_comment_stats (item_id, comment_count) " +
+            "SELECT i.id, 0 FROM items i WHERE i.id IN (:itemIds) " +
+            "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertMissing(@Param("itemIds") Collection<Long> itemIds);
+}
@@ -1,8 +1,10 @@
 package ru.practicum.shareit.item.service;
 
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
@@ -16,7 +18,17 @@ public interface ItemService {
 
     void delete(Long id);
 
-    List<ItemDto> search(String text);
+    List<ItemDto> search(String text, int from, int size);
+
+    List<ItemDto> searchAvailable(String text, LocalDateTime start, LocalDateTime end, int from, int size);
 
     CommentDto createComment(Long itemId, CommentDto commentDto, Long userId);
+
+    List<CommentDto> getComments(Long itemId, int from, int size);
+
+    ItemAvailabilityDto getAvailability(Long itemId, Long userId, LocalDateTime start, LocalDateTime end);
+
+    default List<ItemDto> search(String text) {
+        return search(text, 0, 10);
+    }
 }
\ No newline at end of file
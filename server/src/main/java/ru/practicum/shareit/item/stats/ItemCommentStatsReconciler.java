@@ -0,0 +1,105 @@
+package ru.practicum.shareit.item.stats;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.cache.ItemDtoCache;
+import ru.practicum.shareit.item.dto.CommentCount;
+import ru.practicum.shareit.item.dto.CommentView;
+import ru.practicum.shareit.item.model.ItemCommentStats;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemCommentStatsRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Сверяет item_comment_stats с таблицей comments и исправляет расхождения: сводку, которую
+ * не обновили (вещь добавлена в обход сервиса, отзыв удалён вручную), и отсутствующие строки.
+ * Вещи обходятся пачками по batchSize, каждая пачка — в своей транзакции под блокировкой
+ * строк сводки, поэтому одновременно добавляемые отзывы не теряются.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ItemCommentStatsReconciler {
+    private final ItemRepository itemRepository;
+    private final CommentRepository commentRepository;
+    private final ItemCommentStatsRepository commentStatsRepository;
+    private final ItemDtoCache itemDtoCache;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${shareit.comment-stats.batch-size:500}")
+    private int batchSize;
+
+    @Scheduled(initialDelayString = "${shareit.comment-stats.reconcile-interval:PT1H}",
+            fixedDelayString = "${shareit.comment-stats.reconcile-interval:PT1H}")
+    public void reconcile() {
+        int repaired = 0;
+        long afterId = 0;
+        List<Long> itemIds;
+        do {
+            itemIds = itemRepository.findIdsAfter(afterId, PageRequest.of(0, batchSize));
+            if (itemIds.isEmpty()) {
+                break;
+            }
+            List<Long> batch = itemIds;
+            repaired += Objects.requireNonNull(transactionTemplate.execute(status -> reconcileBatch(batch)));
+            afterId = itemIds.get(itemIds.size() - 1);
+        } while (itemIds.size() == batchSize);
+
+        if (repaired > 0) {
+            log.warn("Сводка отзывов исправлена у {} вещей", repaired);
+        } else {
+            log.debug("Сводка отзывов совпадает с отзывами");
+        }
+    }
+
+    private int reconcileBatch(List<Long> itemIds) {
+        // Недостающие сводки создаются вставкой, которая не конфликтует с createComment, создающим
+        // ту же сводку. Затем блокировка сводок и только после неё подсчёт: отзыв, добавленный
+        // до снятия блокировки, либо уже виден подсчёту, либо увеличит исправленный счётчик после фиксации пачки
+        int created = commentStatsRepository.insertMissing(itemIds);
+        if (created > 0) {
+            log.warn("Созданы недостающие сводки отзывов: {}", created);
+        }
+        Map<Long, ItemCommentStats> statsByItemId = commentStatsRepository.findAllByIdForUpdate(itemIds).stream()
+                .collect(Collectors.toMap(ItemCommentStats::getItemId, Function.identity()));
+        Map<Long, Long> countsByItemId = commentRepository.countByItemIds(itemIds).stream()
+                .collect(Collectors.toMap(CommentCount::itemId, CommentCount::count));
+        Map<Long, List<CommentView>> lastByItemId = commentRepository.findLatestByItemIds(itemIds, 1);
+
+        int repaired = 0;
+        for (Long itemId : itemIds) {
+            long count = countsByItemId.getOrDefault(itemId, 0L);
+            CommentView last = lastByItemId.getOrDefault(itemId, Collections.emptyList()).stream()
+                    .findFirst()
+                    .orElse(null);
+            ItemCommentStats stats = statsByItemId.get(itemId);
+            // Сводки нет только у вещи, удалённой после выборки id
+            if (stats == null || stats.getCommentCount() == count
+                    && Objects.equals(stats.getLastCommentId(), last == null ? null : last.id())) {
+                continue;
+            }
+
+            stats.setCommentCount(count);
+            if (last == null) {
+                stats.clearLastComment();
+            } else {
+                stats.setLastComment(last.id(), last.text(), last.authorName(), last.created());
+            }
+            itemDtoCache.invalidate(itemId);
+            repaired++;
+        }
+        return repaired;
+    }
+}
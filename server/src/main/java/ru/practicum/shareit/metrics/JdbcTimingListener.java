@@ -0,0 +1,38 @@
+package ru.practicum.shareit.metrics;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Время выполнения SQL-запросов и пакетов в JDBC для текущего HTTP-запроса (RequestTiming).
+ * Hibernate создаёт свой экземпляр на каждую сессию по hibernate.session.events.auto.
+ */
+public class JdbcTimingListener implements SessionEventListener {
+    private long startedAt;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        startedAt = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        executed();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        startedAt = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        executed();
+    }
+
+    private void executed() {
+        RequestTiming timing = RequestTiming.current();
+        if (timing != null) {
+            timing.jdbcExecuted(System.nanoTime() - startedAt);
+        }
+    }
+}
\ No newline at end of file
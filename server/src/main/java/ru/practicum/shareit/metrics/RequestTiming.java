@@ -0,0 +1,59 @@
+package ru.practicum.shareit.metrics;
+
+import java.util.Locale;
+
+/**
+ * Замеры текущего HTTP-запроса: время с начала обработки, число подготовленных SQL-запросов
+ * и время их выполнения в JDBC. Привязаны к потоку запроса между start и clear;
+ * вне запроса current возвращает null, и замеры не ведутся. Для диспетчеризации
+ * на страницу ошибки замеры остаются в атрибуте запроса ATTRIBUTE.
+ */
+public final class RequestTiming {
+    public static final String ATTRIBUTE = RequestTiming.class.getName();
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private int statements;
+    private long jdbcNanos;
+
+    private RequestTiming() {
+    }
+
+    public static RequestTiming start() {
+        RequestTiming timing = new RequestTiming();
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    public static RequestTiming current() {
+        return CURRENT.get();
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    void statementPrepared() {
+        statements++;
+    }
+
+    void jdbcExecuted(long nanos) {
+        jdbcNanos += nanos;
+    }
+
+    public int statements() {
+        return statements;
+    }
+
+    /**
+     * Значение заголовка Server-Timing: время сервера и время SQL с числом запросов.
+     */
+    public String serverTiming() {
+        return String.format(Locale.ROOT, "server;dur=%.2f, db;dur=%.2f;desc=\"%d statements\"",
+                millis(System.nanoTime() - startNanos), millis(jdbcNanos), statements);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,87 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.util.function.SingletonSupplier;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import ru.practicum.shareit.util.Constants;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Сквозной идентификатор и замеры HTTP-запроса. X-Request-Id берётся от шлюза или создаётся,
+ * попадает в MDC (requestId) и возвращается в ответе. Заголовок Server-Timing пишет
+ * ServerTimingAdvice перед телом ответа, а для ответов без тела — этот фильтр.
+ * Число SQL-запросов на запрос попадает в распределение shareit.http.sql.statements
+ * с тегами method, uri (шаблон пути) и status, как у http.server.requests.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestTimingFilter extends OncePerRequestFilter {
+    public static final String METRIC = "shareit.http.sql.statements";
+    public static final String REQUEST_ID_MDC_KEY = "requestId";
+    private static final int MAX_REQUEST_ID_LENGTH = 64;
+
+    private final SingletonSupplier<MeterRegistry> meterRegistry;
+
+    public RequestTimingFilter(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = SingletonSupplier.of(meterRegistry::getIfAvailable);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String requestId = requestId(request);
+        response.setHeader(Constants.REQUEST_ID_HEADER, requestId);
+        MDC.put(REQUEST_ID_MDC_KEY, requestId);
+        RequestTiming timing = RequestTiming.start();
+        request.setAttribute(RequestTiming.ATTRIBUTE, timing);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (!response.isCommitted() && !response.containsHeader(Constants.SERVER_TIMING_HEADER)) {
+                response.setHeader(Constants.SERVER_TIMING_HEADER, timing.serverTiming());
+            }
+            recordStatements(request, response, timing);
+            RequestTiming.clear();
+            MDC.remove(REQUEST_ID_MDC_KEY);
+        }
+    }
+
+    private void recordStatements(HttpServletRequest request, HttpServletResponse response, RequestTiming timing) {
+        MeterRegistry registry = meterRegistry.get();
+        if (registry == null) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder(METRIC)
+                .description("Число SQL-запросов на HTTP-запрос")
+                .baseUnit("statements")
+                .tag("method", request.getMethod())
+                .tag("uri", pattern == null ? "UNKNOWN" : pattern.toString())
+                .tag("status", String.valueOf(response.getStatus()))
+                .register(registry)
+                .record(timing.statements());
+    }
+
+    private static String requestId(HttpServletRequest request) {
+        // Идентификатор попадает в логи, поэтому чужое значение принимается только короткое
+        String requestId = request.getHeader(Constants.REQUEST_ID_HEADER);
+        if (StringUtils.hasText(requestId) && requestId.length() <= MAX_REQUEST_ID_LENGTH) {
+            return requestId;
+        }
+        return UUID.randomUUID().toString();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.metrics;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+import ru.practicum.shareit.util.Constants;
+
+/**
+ * Пишет Server-Timing непосредственно перед телом ответа: после начала записи тела
+ * заголовки уже не изменить, а к этому моменту все SQL-запросы обработчика выполнены.
+ */
+@ControllerAdvice
+public class ServerTimingAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        // Ответ об ошибке пишется при отдельной диспетчеризации на /error, уже вне фильтра
+        RequestTiming timing = request instanceof ServletServerHttpRequest servletRequest
+                ? (RequestTiming) servletRequest.getServletRequest().getAttribute(RequestTiming.ATTRIBUTE)
+                : RequestTiming.current();
+        if (timing != null) {
+            response.getHeaders().set(Constants.SERVER_TIMING_HEADER, timing.serverTiming());
+        }
+        return body;
+    }
+}
\ No newline at end of file
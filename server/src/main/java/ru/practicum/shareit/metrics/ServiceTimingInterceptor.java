@@ -0,0 +1,91 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.util.function.SingletonSupplier;
+import ru.practicum.shareit.booking.BookingState;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Время выполнения методов сервисов в таймере shareit.service с тегами class, method,
+ * state и exception. Тег state заполняется для методов с параметром state; значения вне
+ * BookingState сводятся к UNKNOWN, чтобы произвольный ввод не раздувал число серий.
+ */
+public class ServiceTimingInterceptor implements MethodInterceptor {
+    public static final String METRIC = "shareit.service";
+    private static final String NONE = "none";
+    private static final String STATE_PARAMETER = "state";
+    private static final int NO_STATE = -1;
+    private static final Set<String> STATES = Arrays.stream(BookingState.values())
+            .map(Enum::name)
+            .collect(Collectors.toUnmodifiableSet());
+
+    private final SingletonSupplier<MeterRegistry> meterRegistry;
+    private final ParameterNameDiscoverer parameterNames = new DefaultParameterNameDiscoverer();
+    private final Map<Method, Integer> stateParameters = new ConcurrentHashMap<>();
+
+    public ServiceTimingInterceptor(ObjectProvider<MeterRegistry> meterRegistry) {
+        // Реестр запрашивается при первом вызове: совет создаётся раньше бинов метрик
+        this.meterRegistry = SingletonSupplier.of(meterRegistry::getIfAvailable);
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        MeterRegistry registry = meterRegistry.get();
+        if (registry == null) {
+            return invocation.proceed();
+        }
+
+        Timer.Sample sample = Timer.start(registry);
+        String exception = NONE;
+        try {
+            return invocation.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            Method method = invocation.getMethod();
+            sample.stop(Timer.builder(METRIC)
+                    .description("Время выполнения методов сервисов")
+                    .tag("class", AopUtils.getTargetClass(invocation.getThis()).getSimpleName())
+                    .tag("method", method.getName())
+                    .tag("state", state(method, invocation.getArguments()))
+                    .tag("exception", exception)
+                    .register(registry));
+        }
+    }
+
+    private String state(Method method, Object[] arguments) {
+        int index = stateParameters.computeIfAbsent(method, this::stateParameter);
+        if (index == NO_STATE || arguments[index] == null) {
+            return NONE;
+        }
+        String state = arguments[index].toString();
+        return STATES.contains(state) ? state : "UNKNOWN";
+    }
+
+    private int stateParameter(Method method) {
+        String[] names = parameterNames.getParameterNames(method);
+        if (names == null) {
+            return NO_STATE;
+        }
+        for (int i = 0; i < names.length; i++) {
+            if (STATE_PARAMETER.equals(names[i])) {
+                return i;
+            }
+        }
+        return NO_STATE;
+    }
+}
\ No newline at end of file
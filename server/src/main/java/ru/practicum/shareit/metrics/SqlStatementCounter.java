@@ -0,0 +1,26 @@
+package ru.practicum.shareit.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Считает SQL-запросы, подготовленные Hibernate в рамках текущего HTTP-запроса (RequestTiming).
+ * Вне запроса SQL только передаётся дальше. Если в настройках уже задан свой
+ * StatementInspector, он вызывается перед подсчётом.
+ */
+public class SqlStatementCounter implements StatementInspector {
+    private final StatementInspector delegate;
+
+    public SqlStatementCounter(StatementInspector delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        String inspected = delegate == null ? sql : delegate.inspect(sql);
+        RequestTiming timing = RequestTiming.current();
+        if (timing != null) {
+            timing.statementPrepared();
+        }
+        return inspected;
+    }
+}
\ No newline at end of file
@@ -2,17 +2,22 @@ package ru.practicum.shareit.user.Impl;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.exception.ShareItException;
 import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserView;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.util.EntityCacheEvictor;
 
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -20,6 +25,7 @@ import java.util.stream.Collectors;
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final EntityCacheEvictor cacheEvictor;
 
     @Override
     public List<UserDto> getAll() {
@@ -28,6 +34,22 @@ public class UserServiceImpl implements UserService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<UserDto> getPage(Long afterId, int size) {
+        long cursor = afterId == null ? 0L : afterId;
+        return userRepository.findAllByIdGreaterThanOrderByIdAsc(cursor, PageRequest.of(0, size)).stream()
+                .map(userMapper::toUserDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void exportAll(Consumer<UserDto> consumer) {
+        // Проекция не создаёт сущностей, поэтому контекст персистентности не растёт вместе с таблицей
+        try (Stream<UserView> users = userRepository.streamAll()) {
+            users.forEach(user -> consumer.accept(userMapper.toUserDto(user)));
+        }
+    }
+
     @Override
     public UserDto getById(Long id) {
         User user = userRepository.findById(id)
@@ -55,7 +77,9 @@ public class UserServiceImpl implements UserService {
 
         try {
             User updated = userMapper.updateUserFields(existingUser, userMapper.toUserDto(user));
-            return userMapper.toUserDto(userRepository.save(updated));
+            UserDto result = userMapper.toUserDto(userRepository.save(updated));
+            cacheEvictor.evictAfterCommit(User.class, id);
+            return result;
         } catch (DataIntegrityViolationException e) {
             throw new ShareItException.ConflictException("Пользователь с таким email уже зарегистрирован");
         }
@@ -68,5 +92,6 @@ public class UserServiceImpl implements UserService {
             throw new ShareItException.NotFoundException("Не найден пользователь с id: " + id);
         }
         userRepository.deleteById(id);
+        cacheEvictor.evictAfterCommit(User.class, id);
     }
 }
\ No newline at end of file
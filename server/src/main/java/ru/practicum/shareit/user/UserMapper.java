@@ -4,6 +4,7 @@ import org.mapstruct.Mapper;
 import org.mapstruct.MappingTarget;
 import org.mapstruct.NullValuePropertyMappingStrategy;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserView;
 import ru.practicum.shareit.user.model.User;
 
 
@@ -13,6 +14,8 @@ public interface UserMapper {
 
     UserDto toUserDto(User user);
 
+    UserDto toUserDto(UserView view);
+
     User toUser(UserDto userDto);
 
     User updateUserFields(@MappingTarget User targetUser, UserDto sourceUserDto);
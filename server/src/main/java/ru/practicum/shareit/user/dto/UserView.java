@@ -0,0 +1,12 @@
+package ru.practicum.shareit.user.dto;
+
+/**
+ * Строка пользователя для потоковой выгрузки: читается конструктором в запросе,
+ * поэтому не попадает ни в контекст персистентности, ни в кэш второго уровня.
+ */
+public record UserView(
+        Long id,
+        String name,
+        String email
+) {
+}
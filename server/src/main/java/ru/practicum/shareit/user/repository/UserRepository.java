@@ -1,7 +1,33 @@
 package ru.practicum.shareit.user.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import ru.practicum.shareit.user.dto.UserView;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.List;
+import java.util.stream.Stream;
+
 public interface UserRepository extends JpaRepository<User, Long> {
-}
\ No newline at end of file
+
+    // Проверка через find попадает в кэш второго уровня, в отличие от запроса count у existsById по умолчанию
+    @Override
+    default boolean existsById(Long id) {
+        return findById(id).isPresent();
+    }
+
+    List<User> findAllByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    // Проекция вместо сущностей: выгрузка не наполняет регион users кэша второго уровня
+    // всей таблицей и не вытесняет оттуда часто читаемых пользователей
+    @Query("SELECT new ru.practicum.shareit.user.dto.UserView(u.id, u.name, u.email) FROM User u ORDER BY u.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<UserView> streamAll();
+}
@@ -4,10 +4,15 @@ import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface UserService {
     List<UserDto> getAll();
 
+    List<UserDto> getPage(Long afterId, int size);
+
+    void exportAll(Consumer<UserDto> consumer);
+
     UserDto getById(Long id);
 
     UserDto create(User user);
@@ -4,6 +4,8 @@ package ru.practicum.shareit.util;
 public class Constants {
 
     public static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    public static final String REQUEST_ID_HEADER = "X-Request-Id";
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
 
     private Constants() {
         throw new IllegalStateException("Utility class");
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.util;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Явное вытеснение сущностей из кэша второго уровня после фиксации транзакции.
+ * Вытеснение до фиксации оставило бы окно, в котором параллельное чтение
+ * положит в кэш ещё не изменённую строку.
+ */
+@Component
+@RequiredArgsConstructor
+public class EntityCacheEvictor {
+    private final EntityManagerFactory entityManagerFactory;
+
+    public void evictAfterCommit(Class<?> entityClass, Object id) {
+        TransactionCallbacks.afterCommit(() -> entityManagerFactory.getCache().evict(entityClass, id));
+    }
+}
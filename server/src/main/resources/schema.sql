@@ -1,8 +1,10 @@
+-- Операторы разделяются "^;" (spring.sql.init.separator): блоки DO содержат ";" внутри
+
 CREATE TABLE IF NOT EXISTS users (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     name VARCHAR(255) NOT NULL,
     email VARCHAR(255) NOT NULL UNIQUE
-);
+)^;
 
 CREATE TABLE IF NOT EXISTS item_requests (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
@@ -10,7 +12,7 @@ CREATE TABLE IF NOT EXISTS item_requests (
     requestor_id BIGINT NOT NULL,
     created TIMESTAMP WITHOUT TIME ZONE NOT NULL,
     CONSTRAINT fk_requests_to_users FOREIGN KEY(requestor_id) REFERENCES users(id)
-);
+)^;
 
 CREATE TABLE IF NOT EXISTS items (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
@@ -21,7 +23,18 @@ CREATE TABLE IF NOT EXISTS items (
     request_id BIGINT,
     CONSTRAINT fk_item_owner FOREIGN KEY (owner_id) REFERENCES users (id),
     CONSTRAINT fk_item_request FOREIGN KEY (request_id) REFERENCES item_requests (id)
-);
+)^;
+
+-- Триграммные индексы для поиска доступных вещей по подстроке (LOWER(...) LIKE '%text%')
+CREATE EXTENSION IF NOT EXISTS pg_trgm^;
+CREATE INDEX IF NOT EXISTS idx_items_name_trgm ON items USING gin (LOWER(name) gin_trgm_ops) WHERE available^;
+CREATE INDEX IF NOT EXISTS idx_items_description_trgm ON items USING gin (LOWER(description) gin_trgm_ops) WHERE available^;
+
+-- Вещи владельца: с этого индекса начинаются все выборки бронирований владельца (JOIN bookings -> items)
+CREATE INDEX IF NOT EXISTS idx_items_owner ON items(owner_id)^;
+
+-- Для EXCLUDE по (item_id, интервал): равенство по BIGINT в GiST-индексе
+CREATE EXTENSION IF NOT EXISTS btree_gist^;
 
 CREATE TABLE IF NOT EXISTS bookings (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
@@ -32,16 +45,49 @@ CREATE TABLE IF NOT EXISTS bookings (
     status VARCHAR(50) NOT NULL,
     CONSTRAINT fk_bookings_to_items FOREIGN KEY(item_id) REFERENCES items(id),
     CONSTRAINT fk_bookings_to_users FOREIGN KEY(booker_id) REFERENCES users(id)
-);
+)^;
+
+-- Страховка на уровне БД: активные бронирования одной вещи не пересекаются.
+-- Добавляется отдельно от CREATE TABLE, чтобы появиться и в уже существующей базе
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'excl_bookings_item_overlap') THEN
+        ALTER TABLE bookings ADD CONSTRAINT excl_bookings_item_overlap EXCLUDE USING gist (
+            item_id WITH =,
+            tsrange(start_date, end_date) WITH &&
+        ) WHERE (status IN ('WAITING', 'APPROVED'));
+    END IF;
+END
+$$^;
+
+-- Одноколоночные индексы заменены составными: их префиксы покрывают те же условия,
+-- а порядок start_date DESC совпадает с сортировкой страниц бронирований
+DROP INDEX IF EXISTS idx_bookings_item^;
+DROP INDEX IF EXISTS idx_bookings_booker^;
+DROP INDEX IF EXISTS idx_bookings_status^;
+DROP INDEX IF EXISTS idx_bookings_dates^;
 
--- Индекс для поиска бронирований по вещи (часто используется в JOIN)
-CREATE INDEX IF NOT EXISTS idx_bookings_item ON bookings(item_id);
--- Индекс для поиска бронирований по пользователю (используется в WHERE)
-CREATE INDEX IF NOT EXISTS idx_bookings_booker ON bookings(booker_id);
--- Индекс для поиска бронирований по статусу (используется в WHERE)
-CREATE INDEX IF NOT EXISTS idx_bookings_status ON bookings(status);
--- Составной индекс для поиска бронирований по дате начала и окончания (используется в WHERE и ORDER BY)
-CREATE INDEX IF NOT EXISTS idx_bookings_dates ON bookings(start_date, end_date);
+-- Прежние индексы без id заменены индексами с id: страница упорядочена по (start_date, id),
+-- и курсор after=<start,id> продолжает выборку прямо с места в индексе
+DROP INDEX IF EXISTS idx_bookings_booker_start^;
+DROP INDEX IF EXISTS idx_bookings_item_start^;
+DROP INDEX IF EXISTS idx_bookings_booker_waiting^;
+DROP INDEX IF EXISTS idx_bookings_booker_rejected^;
+DROP INDEX IF EXISTS idx_bookings_item_waiting^;
+DROP INDEX IF EXISTS idx_bookings_item_rejected^;
+
+-- Бронирования пользователя (ALL, CURRENT, PAST, FUTURE) в порядке страницы
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_start_id ON bookings(booker_id, start_date DESC, id DESC)^;
+-- Бронирования вещей владельца, а также последнее/следующее бронирование вещи
+CREATE INDEX IF NOT EXISTS idx_bookings_item_start_id ON bookings(item_id, start_date DESC, id DESC)^;
+-- Право оставить отзыв: завершённое подтверждённое бронирование вещи этим пользователем
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_item_status_end ON bookings(booker_id, item_id, status, end_date)^;
+
+-- Частичные индексы для WAITING и REJECTED: небольшая доля строк, сразу в порядке страницы
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_waiting_id ON bookings(booker_id, start_date DESC, id DESC) WHERE status = 'WAITING'^;
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_rejected_id ON bookings(booker_id, start_date DESC, id DESC) WHERE status = 'REJECTED'^;
+CREATE INDEX IF NOT EXISTS idx_bookings_item_waiting_id ON bookings(item_id, start_date DESC, id DESC) WHERE status = 'WAITING'^;
+CREATE INDEX IF NOT EXISTS idx_bookings_item_rejected_id ON bookings(item_id, start_date DESC, id DESC) WHERE status = 'REJECTED'^;
 
 CREATE TABLE IF NOT EXISTS comments (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
@@ -51,4 +97,37 @@ CREATE TABLE IF NOT EXISTS comments (
     created TIMESTAMP WITHOUT TIME ZONE NOT NULL,
     CONSTRAINT fk_comments_to_items FOREIGN KEY(item_id) REFERENCES items(id),
     CONSTRAINT fk_comments_to_users FOREIGN KEY(author_id) REFERENCES users(id)
-);
\ No newline at end of file
+)^;
+
+-- Последние отзывы вещи и страницы отзывов: выборка идёт по индексу в порядке (created DESC, id DESC)
+CREATE INDEX IF NOT EXISTS idx_comments_item_created ON comments(item_id, created DESC, id DESC)^;
+
+-- Сводка отзывов вещи: число отзывов и последний отзыв. Обновляется вместе с добавлением отзыва
+-- под блокировкой строки и сверяется с comments по расписанию (ItemCommentStatsReconciler)
+CREATE TABLE IF NOT EXISTS item_comment_stats (
+    item_id BIGINT PRIMARY KEY,
+    comment_count BIGINT NOT NULL DEFAULT 0,
+    last_comment_id BIGINT,
+    last_comment_text VARCHAR(200),
+    last_author_name VARCHAR(255),
+    last_comment_at TIMESTAMP WITHOUT TIME ZONE,
+    CONSTRAINT fk_item_comment_stats_to_items FOREIGN KEY(item_id) REFERENCES items(id) ON DELETE CASCADE
+)^;
+
+-- Однократное заполнение сводки для вещей, созданных до её появления: выполняется, только пока
+-- таблица пуста (условие без корреляции вычисляется один раз, и при непустой таблице вещи
+-- и отзывы не читаются). Дальше сводку ведут сервис и ItemCommentStatsReconciler
+INSERT INTO item_comment_stats (item_id, comment_count, last_comment_id, last_comment_text, last_author_name, last_comment_at)
+SELECT i.id, COALESCE(c.cnt, 0), l.id, LEFT(l.text, 200), l.name, l.created
+FROM items i
+LEFT JOIN (SELECT item_id, COUNT(*) AS cnt FROM comments GROUP BY item_id) c ON c.item_id = i.id
+LEFT JOIN LATERAL (
+    SELECT cm.id, cm.text, u.name, cm.created
+    FROM comments cm
+    JOIN users u ON u.id = cm.author_id
+    WHERE cm.item_id = i.id
+    ORDER BY cm.created DESC, cm.id DESC
+    LIMIT 1
+) l ON TRUE
+WHERE NOT EXISTS (SELECT 1 FROM item_comment_stats)
+ON CONFLICT (item_id) DO NOTHING^;
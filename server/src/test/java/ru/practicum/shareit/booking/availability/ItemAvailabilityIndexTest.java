@@ -0,0 +1,87 @@
+package ru.practicum.shareit.booking.availability;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Item Availability Index Tests")
+class ItemAvailabilityIndexTest {
+    private static final Long ITEM_ID = 1L;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private ItemAvailabilityIndex index;
+    private LocalDateTime base;
+
+    @BeforeEach
+    void setUp() {
+        index = new ItemAvailabilityIndex(bookingRepository);
+        base = LocalDateTime.now().plusDays(1);
+        index.rebuild(List.of(
+                interval(1L, base, base.plusDays(1), BookingStatus.APPROVED),
+                interval(2L, base.plusDays(3), base.plusDays(4), BookingStatus.WAITING),
+                // Длинное бронирование, начавшееся раньше остальных, должно учитываться через максимум окончаний
+                interval(3L, base.minusDays(2), base.plusDays(10).minusHours(1), BookingStatus.APPROVED)));
+    }
+
+    @Test // Тест на пересечение с существующими интервалами
+    @DisplayName("Should detect overlapping intervals")
+    void detectsOverlaps() {
+        assertFalse(index.isAvailable(ITEM_ID, base.plusHours(1), base.plusHours(2)));
+        assertFalse(index.isAvailable(ITEM_ID, base.plusDays(6), base.plusDays(7)));
+        assertTrue(index.isAvailable(ITEM_ID, base.plusDays(10), base.plusDays(11)));
+        assertTrue(index.isAvailable(2L, base, base.plusDays(1)));
+    }
+
+    @Test // Тест на смежные интервалы
+    @DisplayName("Should treat adjacent intervals as free")
+    void adjacentIntervalsDoNotOverlap() {
+        index.rebuild(List.of(interval(1L, base, base.plusDays(1), BookingStatus.APPROVED)));
+
+        assertTrue(index.isAvailable(ITEM_ID, base.plusDays(1), base.plusDays(2)));
+        assertTrue(index.isAvailable(ITEM_ID, base.minusDays(1), base));
+    }
+
+    @Test // Тест на ближайшее подтверждённое бронирование
+    @DisplayName("Should return next approved booking only")
+    void findsNextApprovedBooking() {
+        assertEquals(1L, index.findNextApproved(ITEM_ID, base.minusDays(1)).orElseThrow().id());
+        assertTrue(index.findNextApproved(ITEM_ID, base).isEmpty());
+    }
+
+    @Test // Тест на отклонение бронирования
+    @DisplayName("Should free interval when booking is rejected")
+    void rejectedBookingFreesInterval() {
+        index.apply(interval(3L, base.minusDays(2), base.plusDays(10).minusHours(1), BookingStatus.REJECTED));
+
+        assertTrue(index.isAvailable(ITEM_ID, base.plusDays(6), base.plusDays(7)));
+        assertFalse(index.isAvailable(ITEM_ID, base.plusHours(1), base.plusHours(2)));
+    }
+
+    @Test // Тест на добавление нового бронирования
+    @DisplayName("Should occupy interval of a new booking")
+    void newBookingOccupiesInterval() {
+        index.apply(interval(4L, base.plusDays(20), base.plusDays(21), BookingStatus.WAITING));
+
+        assertFalse(index.isAvailable(ITEM_ID, base.plusDays(20).plusHours(1), base.plusDays(22)));
+        assertTrue(index.isAvailable(ITEM_ID, base.plusDays(21), base.plusDays(22)));
+    }
+
+    private BookingInterval interval(Long id, LocalDateTime start, LocalDateTime end, BookingStatus status) {
+        return new BookingInterval(id, ITEM_ID, 10L, start, end, status);
+    }
+}
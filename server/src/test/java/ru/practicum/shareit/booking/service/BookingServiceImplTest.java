@@ -8,38 +8,54 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.BookingApprovalOutcome;
+import ru.practicum.shareit.booking.BookingCursor;
 import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.BookingRole;
 import ru.practicum.shareit.booking.BookingState;
 import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.availability.BookingInterval;
+import ru.practicum.shareit.booking.availability.ItemAvailabilityIndex;
 import ru.practicum.shareit.booking.Impl.BookingServiceImpl;
+import ru.practicum.shareit.booking.dto.BookingApprovalResultDto;
+import ru.practicum.shareit.booking.dto.BookingApprovalView;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.exception.ShareItException;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
-import ru.practicum.shareit.booking.service.handler.owner.OwnerStateProcessor;
+import ru.practicum.shareit.item.cache.ItemDtoCache;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.util.OffsetBasedPageRequest;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -56,9 +72,9 @@ class BookingServiceImplTest {
     @Mock
     private BookingMapper bookingMapper;
     @Mock
-    private BookerStateProcessor bookerStateProcessor;
+    private ItemAvailabilityIndex availabilityIndex;
     @Mock
-    private OwnerStateProcessor ownerStateProcessor;
+    private ItemDtoCache itemDtoCache;
     @InjectMocks
     private BookingServiceImpl bookingService;
 
@@ -66,6 +82,7 @@ class BookingServiceImplTest {
     private User booker;
     private Item item;
     private Booking booking;
+    private BookingView bookingView;
     private BookingDto bookingDto;
     private LocalDateTime now;
 
@@ -97,6 +114,9 @@ class BookingServiceImplTest {
                 .booker(booker)
                 .status(BookingStatus.WAITING)
                 .build();
+        bookingView = new BookingView(1L, now.plusDays(1), now.plusDays(2), BookingStatus.WAITING,
+                1L, "Test Item", "Test Description", true, null, null, null, null, null, null,
+                2L, "Booker", "booker@test.com");
         bookingDto = BookingDto.builder()
                 .id(1L)
                 .start(now.plusDays(1))
@@ -115,7 +135,7 @@ class BookingServiceImplTest {
         @DisplayName("Should create booking successfully")
         void createBookingSuccessfully() {
             when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
-            when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
+            when(itemRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(item));
             when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
             when(bookingMapper.toBookingDto(any(Booking.class))).thenReturn(bookingDto);
             when(bookingMapper.toBooking(any(BookingDto.class))).thenReturn(booking);
@@ -128,6 +148,7 @@ class BookingServiceImplTest {
             assertEquals(bookingDto.getEnd(), result.getEnd());
             assertEquals(bookingDto.getStatus(), result.getStatus());
             verify(bookingRepository).save(any(Booking.class));
+            verify(availabilityIndex).register(booking);
         }
 
         @Test
@@ -144,7 +165,7 @@ class BookingServiceImplTest {
         @DisplayName("Should throw exception when item doesn't exist")
         void createBookingWithNonExistentItem() {
             when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
-            when(itemRepository.findById(anyLong())).thenReturn(Optional.empty());
+            when(itemRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.empty());
 
             assertThrows(ShareItException.NotFoundException.class,
                     () -> bookingService.create(bookingDto, booker.getId()));
@@ -156,7 +177,7 @@ class BookingServiceImplTest {
         void createBookingWithUnavailableItem() {
             item.setAvailable(false);
             when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
-            when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
+            when(itemRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(item));
 
             assertThrows(ShareItException.BadRequestException.class,
                     () -> bookingService.create(bookingDto, booker.getId()));
@@ -167,7 +188,7 @@ class BookingServiceImplTest {
         @DisplayName("Should throw exception when owner tries to book own item")
         void createBookingByOwner() {
             when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
-            when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
+            when(itemRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(item));
 
             assertThrows(ShareItException.NotFoundException.class,
                     () -> bookingService.create(bookingDto, owner.getId()));
@@ -180,12 +201,25 @@ class BookingServiceImplTest {
             bookingDto.setStart(now.plusDays(2));
             bookingDto.setEnd(now.plusDays(1));
             when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
-            when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
+            when(itemRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(item));
 
             assertThrows(ShareItException.BadRequestException.class,
                     () -> bookingService.create(bookingDto, booker.getId()));
             verify(bookingRepository, never()).save(any(Booking.class));
         }
+
+        @Test
+        @DisplayName("Should throw conflict when interval overlaps an active booking")
+        void createOverlappingBooking() {
+            when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
+            when(itemRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(item));
+            when(bookingRepository.existsOverlapping(eq(item.getId()), eq(bookingDto.getStart()), eq(bookingDto.getEnd()),
+                    eq(EnumSet.of(BookingStatus.WAITING, BookingStatus.APPROVED)))).thenReturn(true);
+
+            assertThrows(ShareItException.ConflictException.class,
+                    () -> bookingService.create(bookingDto, booker.getId()));
+            verify(bookingRepository, never()).save(any(Booking.class));
+        }
     }
 
     @Nested // Тесты на подтверждение бронирования
@@ -220,6 +254,7 @@ class BookingServiceImplTest {
             assertNotNull(result);
             assertEquals(BookingStatus.APPROVED, result.getStatus());
             verify(bookingRepository).save(any(Booking.class));
+            verify(availabilityIndex).register(approvedBooking);
         }
 
         @Test
@@ -285,6 +320,71 @@ class BookingServiceImplTest {
         }
     }
 
+    @Nested // Тесты на массовое подтверждение бронирований
+    @DisplayName("Bulk Approval Tests")
+    class BulkApprovalTests {
+        private BookingApprovalView view(Long id, Long ownerId, BookingStatus status) {
+            return new BookingApprovalView(id, item.getId(), ownerId, booker.getId(),
+                    now.plusDays(id), now.plusDays(id + 1), status);
+        }
+
+        @Test
+        @DisplayName("Should update waiting bookings with one statement and report every id")
+        void approveAllReportsOutcomePerBooking() {
+            when(bookingRepository.findApprovalViews(List.of(1L, 2L, 3L, 4L, 5L))).thenReturn(List.of(
+                    view(1L, owner.getId(), BookingStatus.WAITING),
+                    view(2L, owner.getId(), BookingStatus.WAITING),
+                    view(3L, owner.getId(), BookingStatus.REJECTED),
+                    view(4L, booker.getId(), BookingStatus.WAITING)));
+            when(bookingRepository.lockWaitingIds(argThat(ids -> Set.copyOf(ids).equals(Set.of(1L, 2L)))))
+                    .thenReturn(List.of(1L, 2L));
+
+            List<BookingApprovalResultDto> results = bookingService.approveAll(List.of(1L, 2L, 3L, 4L, 5L, 1L),
+                    owner.getId(), true);
+
+            assertEquals(List.of(1L, 2L, 3L, 4L, 5L), results.stream().map(BookingApprovalResultDto::getBookingId).toList());
+            assertEquals(List.of(BookingApprovalOutcome.UPDATED, BookingApprovalOutcome.UPDATED,
+                            BookingApprovalOutcome.ALREADY_PROCESSED, BookingApprovalOutcome.FORBIDDEN,
+                            BookingApprovalOutcome.NOT_FOUND),
+                    results.stream().map(BookingApprovalResultDto::getOutcome).toList());
+            assertEquals(BookingStatus.APPROVED, results.get(0).getStatus());
+            assertEquals(BookingStatus.REJECTED, results.get(2).getStatus());
+            verify(bookingRepository).updateStatusIfWaiting(argThat(ids -> Set.copyOf(ids).equals(Set.of(1L, 2L))),
+                    eq(BookingStatus.APPROVED));
+            verify(availabilityIndex, times(2)).register(any(BookingInterval.class));
+            verify(itemDtoCache).invalidate(item.getId());
+        }
+
+        @Test
+        @DisplayName("Should report bookings processed concurrently as already processed")
+        void approveAllDetectsConcurrentProcessing() {
+            when(bookingRepository.findApprovalViews(List.of(1L, 2L))).thenReturn(List.of(
+                    view(1L, owner.getId(), BookingStatus.WAITING),
+                    view(2L, owner.getId(), BookingStatus.WAITING)));
+            // Бронирование 1 обработано параллельно и после снятия чужой блокировки уже не WAITING
+            when(bookingRepository.lockWaitingIds(any())).thenReturn(List.of(2L));
+
+            List<BookingApprovalResultDto> results = bookingService.approveAll(List.of(1L, 2L), owner.getId(), false);
+
+            assertEquals(BookingApprovalOutcome.ALREADY_PROCESSED, results.get(0).getOutcome());
+            assertEquals(BookingApprovalOutcome.UPDATED, results.get(1).getOutcome());
+            assertEquals(BookingStatus.REJECTED, results.get(1).getStatus());
+            verify(bookingRepository).updateStatusIfWaiting(Set.of(2L), BookingStatus.REJECTED);
+            verify(availabilityIndex, times(1)).register(any(BookingInterval.class));
+        }
+
+        @Test
+        @DisplayName("Should reject empty and oversized id lists")
+        void approveAllValidatesIds() {
+            assertThrows(ShareItException.BadRequestException.class,
+                    () -> bookingService.approveAll(List.of(), owner.getId(), true));
+            List<Long> tooMany = LongStream.rangeClosed(1, 1001).boxed().toList();
+            assertThrows(ShareItException.BadRequestException.class,
+                    () -> bookingService.approveAll(tooMany, owner.getId(), true));
+            verify(bookingRepository, never()).findApprovalViews(any());
+        }
+    }
+
     @Nested // Тесты на получение бронирования
     @DisplayName("Get Booking Tests")
     class GetBookingTests {
@@ -328,17 +428,19 @@ class BookingServiceImplTest {
         @DisplayName("Should get all bookings by booker")
         void getAllBookingsByBooker() {
             when(userRepository.existsById(anyLong())).thenReturn(true);
-            PageRequest pageRequest = PageRequest.of(0, 10, Sort.by("start").descending());
-            when(bookerStateProcessor.process(eq(BookingState.ALL), eq(booker.getId()), any(LocalDateTime.class), eq(pageRequest)))
-                    .thenReturn(Collections.singletonList(booking));
-            when(bookingMapper.toBookingDto(any(Booking.class))).thenReturn(bookingDto);
+            Pageable pageRequest = OffsetBasedPageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "start", "id"));
+            when(bookingRepository.findViews(eq(BookingRole.BOOKER), eq(booker.getId()), eq(BookingState.ALL),
+                    any(LocalDateTime.class), eq(pageRequest)))
+                    .thenReturn(Collections.singletonList(bookingView));
+            when(bookingMapper.toBookingDto(any(BookingView.class))).thenReturn(bookingDto);
 
             List<BookingDto> result = bookingService.getAllByBooker(booker.getId(), "ALL", 0, 10);
 
             assertNotNull(result);
             assertEquals(1, result.size());
             assertEquals(bookingDto.getId(), result.get(0).getId());
-            verify(bookerStateProcessor).process(eq(BookingState.ALL), eq(booker.getId()), any(LocalDateTime.class), eq(pageRequest));
+            verify(bookingRepository).findViews(eq(BookingRole.BOOKER), eq(booker.getId()), eq(BookingState.ALL),
+                    any(LocalDateTime.class), eq(pageRequest));
         }
 
         @Test
@@ -348,7 +450,7 @@ class BookingServiceImplTest {
 
             assertThrows(ShareItException.NotFoundException.class,
                     () -> bookingService.getAllByBooker(999L, "ALL", 0, 10));
-            verify(bookerStateProcessor, never()).process(any(), anyLong(), any(), any());
+            verify(bookingRepository, never()).findViews(any(), anyLong(), any(), any(), any());
         }
 
         @Test
@@ -358,7 +460,7 @@ class BookingServiceImplTest {
 
             assertThrows(ShareItException.BadRequestException.class,
                     () -> bookingService.getAllByBooker(booker.getId(), "INVALID_STATE", 0, 10));
-            verify(bookerStateProcessor, never()).process(any(), anyLong(), any(), any());
+            verify(bookingRepository, never()).findViews(any(), anyLong(), any(), any(), any());
         }
 
         @Test
@@ -369,20 +471,22 @@ class BookingServiceImplTest {
             BookingState[] states = BookingState.values();
             for (int i = 0; i < states.length; i++) {
                 BookingState state = states[i];
-                PageRequest pageRequest = PageRequest.of(0, 10, Sort.by("start").descending());
+                Pageable pageRequest = OffsetBasedPageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "start", "id"));
 
-                reset(bookerStateProcessor, bookingMapper);
+                reset(bookingRepository, bookingMapper);
 
-                when(bookerStateProcessor.process(eq(state), eq(booker.getId()), any(LocalDateTime.class), eq(pageRequest)))
-                        .thenReturn(Collections.singletonList(booking));
-                when(bookingMapper.toBookingDto(any(Booking.class))).thenReturn(bookingDto);
+                when(bookingRepository.findViews(eq(BookingRole.BOOKER), eq(booker.getId()), eq(state),
+                        any(LocalDateTime.class), eq(pageRequest)))
+                        .thenReturn(Collections.singletonList(bookingView));
+                when(bookingMapper.toBookingDto(any(BookingView.class))).thenReturn(bookingDto);
 
                 List<BookingDto> result = bookingService.getAllByBooker(booker.getId(), state.name(), 0, 10);
 
                 assertNotNull(result);
                 assertEquals(1, result.size());
                 assertEquals(bookingDto.getId(), result.get(0).getId());
-                verify(bookerStateProcessor).process(eq(state), eq(booker.getId()), any(LocalDateTime.class), eq(pageRequest));
+                verify(bookingRepository).findViews(eq(BookingRole.BOOKER), eq(booker.getId()), eq(state),
+                        any(LocalDateTime.class), eq(pageRequest));
             }
         }
     }
@@ -394,17 +498,19 @@ class BookingServiceImplTest {
         @DisplayName("Should get all bookings by owner")
         void getAllBookingsByOwner() {
             when(userRepository.existsById(anyLong())).thenReturn(true);
-            PageRequest pageRequest = PageRequest.of(0, 10, Sort.by("start").descending());
-            when(ownerStateProcessor.process(eq(BookingState.ALL), eq(owner.getId()), any(LocalDateTime.class), eq(pageRequest)))
-                    .thenReturn(Collections.singletonList(booking));
-            when(bookingMapper.toBookingDto(any(Booking.class))).thenReturn(bookingDto);
+            Pageable pageRequest = OffsetBasedPageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "start", "id"));
+            when(bookingRepository.findViews(eq(BookingRole.OWNER), eq(owner.getId()), eq(BookingState.ALL),
+                    any(LocalDateTime.class), eq(pageRequest)))
+                    .thenReturn(Collections.singletonList(bookingView));
+            when(bookingMapper.toBookingDto(any(BookingView.class))).thenReturn(bookingDto);
 
             List<BookingDto> result = bookingService.getAllByOwner(owner.getId(), "ALL", 0, 10);
 
             assertNotNull(result);
             assertEquals(1, result.size());
             assertEquals(bookingDto.getId(), result.get(0).getId());
-            verify(ownerStateProcessor).process(eq(BookingState.ALL), eq(owner.getId()), any(LocalDateTime.class), eq(pageRequest));
+            verify(bookingRepository).findViews(eq(BookingRole.OWNER), eq(owner.getId()), eq(BookingState.ALL),
+                    any(LocalDateTime.class), eq(pageRequest));
         }
 
         @Test
@@ -414,7 +520,7 @@ class BookingServiceImplTest {
 
             assertThrows(ShareItException.NotFoundException.class,
                     () -> bookingService.getAllByOwner(999L, "ALL", 0, 10));
-            verify(ownerStateProcessor, never()).process(any(), anyLong(), any(), any());
+            verify(bookingRepository, never()).findViews(any(), anyLong(), any(), any(), any());
         }
 
         @Test
@@ -424,7 +530,7 @@ class BookingServiceImplTest {
 
             assertThrows(ShareItException.BadRequestException.class,
                     () -> bookingService.getAllByOwner(owner.getId(), "INVALID_STATE", 0, 10));
-            verify(ownerStateProcessor, never()).process(any(), anyLong(), any(), any());
+            verify(bookingRepository, never()).findViews(any(), anyLong(), any(), any(), any());
         }
 
         @Test
@@ -435,20 +541,22 @@ class BookingServiceImplTest {
             BookingState[] states = BookingState.values();
             for (int i = 0; i < states.length; i++) {
                 BookingState state = states[i];
-                PageRequest pageRequest = PageRequest.of(0, 10, Sort.by("start").descending());
+                Pageable pageRequest = OffsetBasedPageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "start", "id"));
 
-                reset(ownerStateProcessor, bookingMapper);
+                reset(bookingRepository, bookingMapper);
 
-                when(ownerStateProcessor.process(eq(state), eq(owner.getId()), any(LocalDateTime.class), eq(pageRequest)))
-                        .thenReturn(Collections.singletonList(booking));
-                when(bookingMapper.toBookingDto(any(Booking.class))).thenReturn(bookingDto);
+                when(bookingRepository.findViews(eq(BookingRole.OWNER), eq(owner.getId()), eq(state),
+                        any(LocalDateTime.class), eq(pageRequest)))
+                        .thenReturn(Collections.singletonList(bookingView));
+                when(bookingMapper.toBookingDto(any(BookingView.class))).thenReturn(bookingDto);
 
                 List<BookingDto> result = bookingService.getAllByOwner(owner.getId(), state.name(), 0, 10);
 
                 assertNotNull(result);
                 assertEquals(1, result.size());
                 assertEquals(bookingDto.getId(), result.get(0).getId());
-                verify(ownerStateProcessor).process(eq(state), eq(owner.getId()), any(LocalDateTime.class), eq(pageRequest));
+                verify(bookingRepository).findViews(eq(BookingRole.OWNER), eq(owner.getId()), eq(state),
+                        any(LocalDateTime.class), eq(pageRequest));
             }
         }
     }
@@ -467,20 +575,22 @@ class BookingServiceImplTest {
                 int[] pagination = paginations[i];
                 int from = pagination[0];
                 int size = pagination[1];
-                int page = from / size;
 
-                reset(bookerStateProcessor, bookingMapper);
+                reset(bookingRepository, bookingMapper);
 
-                PageRequest pageRequest = PageRequest.of(page, size, Sort.by("start").descending());
-                when(bookerStateProcessor.process(eq(BookingState.ALL), eq(booker.getId()), any(LocalDateTime.class), eq(pageRequest)))
-                        .thenReturn(Collections.singletonList(booking));
-                when(bookingMapper.toBookingDto(any(Booking.class))).thenReturn(bookingDto);
+                Pageable pageRequest = OffsetBasedPageRequest.of(from, size,
+                        Sort.by(Sort.Direction.DESC, "start", "id"));
+                when(bookingRepository.findViews(eq(BookingRole.BOOKER), eq(booker.getId()), eq(BookingState.ALL),
+                        any(LocalDateTime.class), eq(pageRequest)))
+                        .thenReturn(Collections.singletonList(bookingView));
+                when(bookingMapper.toBookingDto(any(BookingView.class))).thenReturn(bookingDto);
 
                 List<BookingDto> result = bookingService.getAllByBooker(booker.getId(), "ALL", from, size);
 
                 assertNotNull(result);
                 assertEquals(1, result.size());
-                verify(bookerStateProcessor).process(eq(BookingState.ALL), eq(booker.getId()), any(LocalDateTime.class), eq(pageRequest));
+                verify(bookingRepository).findViews(eq(BookingRole.BOOKER), eq(booker.getId()), eq(BookingState.ALL),
+                        any(LocalDateTime.class), eq(pageRequest));
             }
         }
 
@@ -495,21 +605,70 @@ class BookingServiceImplTest {
                 int[] pagination = paginations[i];
                 int from = pagination[0];
                 int size = pagination[1];
-                int page = from / size;
 
-                reset(ownerStateProcessor, bookingMapper);
+                reset(bookingRepository, bookingMapper);
 
-                PageRequest pageRequest = PageRequest.of(page, size, Sort.by("start").descending());
-                when(ownerStateProcessor.process(eq(BookingState.ALL), eq(owner.getId()), any(LocalDateTime.class), eq(pageRequest)))
-                        .thenReturn(Collections.singletonList(booking));
-                when(bookingMapper.toBookingDto(any(Booking.class))).thenReturn(bookingDto);
+                Pageable pageRequest = OffsetBasedPageRequest.of(from, size,
+                        Sort.by(Sort.Direction.DESC, "start", "id"));
+                when(bookingRepository.findViews(eq(BookingRole.OWNER), eq(owner.getId()), eq(BookingState.ALL),
+                        any(LocalDateTime.class), eq(pageRequest)))
+                        .thenReturn(Collections.singletonList(bookingView));
+                when(bookingMapper.toBookingDto(any(BookingView.class))).thenReturn(bookingDto);
 
                 List<BookingDto> result = bookingService.getAllByOwner(owner.getId(), "ALL", from, size);
 
                 assertNotNull(result);
                 assertEquals(1, result.size());
-                verify(ownerStateProcessor).process(eq(BookingState.ALL), eq(owner.getId()), any(LocalDateTime.class), eq(pageRequest));
+                verify(bookingRepository).findViews(eq(BookingRole.OWNER), eq(owner.getId()), eq(BookingState.ALL),
+                        any(LocalDateTime.class), eq(pageRequest));
             }
         }
     }
+
+    @Nested // Тесты на курсорную пагинацию
+    @DisplayName("Keyset Pagination Tests")
+    class KeysetPaginationTests {
+        @Test
+        @DisplayName("Should pass parsed cursor to repository for booker")
+        void keysetPageForBooker() {
+            when(userRepository.existsById(anyLong())).thenReturn(true);
+            BookingCursor cursor = new BookingCursor(LocalDateTime.of(2024, 5, 1, 10, 0), 42L);
+            when(bookingRepository.findViewsAfter(eq(BookingRole.BOOKER), eq(booker.getId()), eq(BookingState.PAST),
+                    any(LocalDateTime.class), eq(cursor), eq(5)))
+                    .thenReturn(Collections.singletonList(bookingView));
+            when(bookingMapper.toBookingDto(any(BookingView.class))).thenReturn(bookingDto);
+
+            List<BookingDto> result = bookingService.getPageByBooker(booker.getId(), "PAST",
+                    "2024-05-01T10:00:00,42", 5);
+
+            assertEquals(1, result.size());
+            assertEquals(bookingDto.getId(), result.get(0).getId());
+        }
+
+        @Test
+        @DisplayName("Should request first page when cursor is empty")
+        void keysetFirstPageForOwner() {
+            when(userRepository.existsById(anyLong())).thenReturn(true);
+            when(bookingRepository.findViewsAfter(eq(BookingRole.OWNER), eq(owner.getId()), eq(BookingState.ALL),
+                    any(LocalDateTime.class), isNull(), eq(10)))
+                    .thenReturn(Collections.singletonList(bookingView));
+            when(bookingMapper.toBookingDto(any(BookingView.class))).thenReturn(bookingDto);
+
+            List<BookingDto> result = bookingService.getPageByOwner(owner.getId(), "ALL", "", 10);
+
+            assertEquals(1, result.size());
+        }
+
+        @Test
+        @DisplayName("Should throw exception when cursor is malformed")
+        void keysetPageWithInvalidCursor() {
+            when(userRepository.existsById(anyLong())).thenReturn(true);
+
+            assertThrows(ShareItException.BadRequestException.class,
+                    () -> bookingService.getPageByBooker(booker.getId(), "ALL", "yesterday,1", 10));
+            assertThrows(ShareItException.BadRequestException.class,
+                    () -> bookingService.getPageByBooker(booker.getId(), "ALL", "2024-05-01T10:00:00", 10));
+            verify(bookingRepository, never()).findViewsAfter(any(), anyLong(), any(), any(), any(), anyInt());
+        }
+    }
 }
\ No newline at end of file
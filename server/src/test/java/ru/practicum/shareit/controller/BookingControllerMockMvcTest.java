@@ -10,8 +10,10 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.BookingApprovalOutcome;
 import ru.practicum.shareit.booking.BookingStatus;
 import ru.practicum.shareit.booking.controller.BookingController;
+import ru.practicum.shareit.booking.dto.BookingApprovalResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.item.dto.ItemDto;
@@ -28,6 +30,8 @@ import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
@@ -116,6 +120,26 @@ public class BookingControllerMockMvcTest {
                 .andExpect(jsonPath("$.status", is(approvedBooking.getStatus().toString())));
     }
 
+    @Test // Тест на массовое подтверждение бронирований
+    @DisplayName("PATCH /bookings должен возвращать итог по каждому бронированию")
+    void approveAllBookings() throws Exception {
+        when(bookingService.approveAll(List.of(1L, 2L), userId, true)).thenReturn(List.of(
+                new BookingApprovalResultDto(1L, BookingApprovalOutcome.UPDATED, BookingStatus.APPROVED),
+                new BookingApprovalResultDto(2L, BookingApprovalOutcome.NOT_FOUND, null)));
+
+        mockMvc.perform(patch("/bookings")
+                        .header(userIdHeader, userId)
+                        .param("approved", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(1L, 2L))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].outcome", is("UPDATED")))
+                .andExpect(jsonPath("$[0].status", is("APPROVED")))
+                .andExpect(jsonPath("$[1].bookingId", is(2)))
+                .andExpect(jsonPath("$[1].outcome", is("NOT_FOUND")));
+    }
+
     @Test // Тест на получение бронирования по ID
     @DisplayName("GET /bookings/{bookingId} должен возвращать бронирование по ID")
     void getBookingById() throws Exception {
@@ -144,4 +168,40 @@ public class BookingControllerMockMvcTest {
                 .andExpect(jsonPath("$[0].id", is(bookingDto.getId().intValue())))
                 .andExpect(jsonPath("$[0].status", is(bookingDto.getStatus().toString())));
     }
+
+    @Test // Тест на получение страницы бронирований владельца по курсору
+    @DisplayName("GET /bookings/owner?after= должен возвращать страницу бронирований после курсора")
+    void getBookingsPageByOwner() throws Exception {
+        String after = "2024-05-01T10:00:00,42";
+        when(bookingService.getPageByOwner(userId, "ALL", after, 10)).thenReturn(List.of(bookingDto));
+
+        mockMvc.perform(get("/bookings/owner")
+                        .header(userIdHeader, userId)
+                        .param("state", "ALL")
+                        .param("after", after)
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(bookingDto.getId().intValue())));
+    }
+
+    @Test // Тест на некорректный размер страницы по курсору
+    @DisplayName("GET /bookings?after= должен отклонять неположительный и слишком большой размер")
+    void getBookingsPageRejectsInvalidSize() throws Exception {
+        for (String size : List.of("0", "-1", "101")) {
+            mockMvc.perform(get("/bookings")
+                            .header(userIdHeader, userId)
+                            .param("after", "")
+                            .param("size", size))
+                    .andExpect(status().isBadRequest());
+            mockMvc.perform(get("/bookings/owner")
+                            .header(userIdHeader, userId)
+                            .param("after", "")
+                            .param("size", size))
+                    .andExpect(status().isBadRequest());
+        }
+
+        verify(bookingService, never()).getPageByBooker(anyLong(), anyString(), any(), anyInt());
+        verify(bookingService, never()).getPageByOwner(anyLong(), anyString(), any(), anyInt());
+    }
 }
\ No newline at end of file
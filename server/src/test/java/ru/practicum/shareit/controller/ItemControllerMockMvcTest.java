@@ -12,6 +12,7 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.item.controller.ItemController;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.service.ItemService;
 
@@ -23,8 +24,12 @@ import java.util.List;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -148,7 +153,7 @@ public class ItemControllerMockMvcTest {
     @Test // Тест на поиск вещей
     @DisplayName("GET /items/search должен искать вещи по тексту")
     void searchItems() throws Exception {
-        when(itemService.search(anyString())).thenReturn(Collections.singletonList(itemDto));
+        when(itemService.search(anyString(), eq(0), eq(10))).thenReturn(Collections.singletonList(itemDto));
 
         mockMvc.perform(get("/items/search")
                         .param("text", "test"))
@@ -158,6 +163,22 @@ public class ItemControllerMockMvcTest {
                 .andExpect(jsonPath("$[0].name", is(itemDto.getName())));
     }
 
+    @Test // Тест на некорректные параметры страницы поиска
+    @DisplayName("GET /items/search должен отклонять нулевой размер и отрицательное смещение")
+    void searchItemsRejectsInvalidPage() throws Exception {
+        mockMvc.perform(get("/items/search")
+                        .param("text", "test")
+                        .param("size", "0"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/items/search")
+                        .param("text", "test")
+                        .param("from", "-1"))
+                .andExpect(status().isBadRequest());
+
+        verify(itemService, never()).search(anyString(), anyInt(), anyInt());
+    }
+
     @Test // Тест на создание комментария
     @DisplayName("POST /items/{itemId}/comment должен создавать комментарий")
     void createComment() throws Exception {
@@ -172,4 +193,38 @@ public class ItemControllerMockMvcTest {
                 .andExpect(jsonPath("$.text", is(commentDto.getText())))
                 .andExpect(jsonPath("$.authorName", is(commentDto.getAuthorName())));
     }
+
+    @Test // Тест на получение страницы отзывов
+    @DisplayName("GET /items/{itemId}/comments должен возвращать страницу отзывов вещи")
+    void getItemComments() throws Exception {
+        when(itemService.getComments(1L, 10, 5)).thenReturn(List.of(commentDto));
+
+        mockMvc.perform(get("/items/1/comments")
+                        .param("from", "10")
+                        .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].authorName", is(commentDto.getAuthorName())));
+    }
+
+    @Test // Тест на проверку занятости вещи
+    @DisplayName("GET /items/{id}/availability должен возвращать занятость вещи на интервале")
+    void getItemAvailability() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 10, 12, 0);
+        LocalDateTime end = start.plusDays(2);
+        when(itemService.getAvailability(1L, userId, start, end)).thenReturn(ItemAvailabilityDto.builder()
+                .itemId(1L)
+                .start(start)
+                .end(end)
+                .available(false)
+                .build());
+
+        mockMvc.perform(get("/items/1/availability")
+                        .header(userIdHeader, userId)
+                        .param("start", "2030-01-10T12:00:00")
+                        .param("end", "2030-01-12T12:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itemId", is(1)))
+                .andExpect(jsonPath("$.available", is(false)));
+    }
 }
\ No newline at end of file
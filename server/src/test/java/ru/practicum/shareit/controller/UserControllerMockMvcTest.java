@@ -17,16 +17,23 @@ import ru.practicum.shareit.user.service.UserService;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -75,6 +82,59 @@ public class UserControllerMockMvcTest {
                 .andExpect(jsonPath("$[0].email", is(userDto.getEmail())));
     }
 
+    @Test // Тест на получение страницы пользователей по курсору
+    @DisplayName("GET /users?after=&size= должен возвращать страницу пользователей после курсора")
+    void getUsersPage() throws Exception {
+        when(userService.getPage(5L, 2)).thenReturn(List.of(userDto));
+
+        mockMvc.perform(get("/users")
+                        .param("after", "5")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(userDto.getId().intValue())));
+    }
+
+    @Test // Тест на некорректный размер страницы пользователей
+    @DisplayName("GET /users?size= должен отклонять неположительный размер страницы")
+    void getUsersPageRejectsInvalidSize() throws Exception {
+        for (String size : List.of("0", "-1")) {
+            mockMvc.perform(get("/users")
+                            .param("size", size))
+                    .andExpect(status().isBadRequest());
+        }
+
+        verify(userService, never()).getPage(any(), anyInt());
+    }
+
+    @Test // Тест на потоковую выгрузку пользователей
+    @DisplayName("GET /users/export должен выгружать пользователей построчно в NDJSON")
+    void exportUsers() throws Exception {
+        UserDto secondUser = UserDto.builder()
+                .id(2L)
+                .name("Second User")
+                .email("second@test.com")
+                .build();
+        doAnswer(invocation -> {
+            Consumer<UserDto> consumer = invocation.getArgument(0);
+            consumer.accept(userDto);
+            consumer.accept(secondUser);
+            return null;
+        }).when(userService).exportAll(any());
+
+        String body = mockMvc.perform(get("/users/export"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(1L, objectMapper.readTree(lines[0]).get("id").asLong());
+        assertEquals(2L, objectMapper.readTree(lines[1]).get("id").asLong());
+    }
+
     @Test // Тест на получение пользователя по ID
     @DisplayName("GET /users/{id} должен возвращать пользователя по ID")
     void getUserById() throws Exception {
@@ -0,0 +1,157 @@
+package ru.practicum.shareit.integration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.exception.ShareItException;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Нагрузочная проверка создания бронирований: 500 одновременных бронирующих на нескольких
+ * «горячих» вещах. Все заявки на одну вещь попарно пересекаются, поэтому на каждую вещь
+ * должно быть принято ровно одно бронирование, а остальные отклонены как конфликтующие.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:concurrency;MODE=PostgreSQL;LOCK_TIMEOUT=10000")
+@ActiveProfiles("test")
+@DirtiesContext
+public class BookingConcurrencyTest {
+    private static final int BOOKERS = 500;
+    private static final int HOT_ITEMS = 5;
+    private static final int SLOTS = 20;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final List<User> users = new ArrayList<>();
+    private final List<Item> items = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        long suffix = System.currentTimeMillis();
+        User owner = userRepository.save(User.builder()
+                .name("Owner")
+                .email("owner" + suffix + "@test.com")
+                .build());
+        users.add(owner);
+
+        for (int i = 0; i < HOT_ITEMS; i++) {
+            items.add(itemRepository.save(Item.builder()
+                    .name("Hot item " + i)
+                    .description("Description " + i)
+                    .available(true)
+                    .owner(owner)
+                    .build()));
+        }
+
+        for (int i = 0; i < BOOKERS; i++) {
+            users.add(userRepository.save(User.builder()
+                    .name("Booker " + i)
+                    .email("booker" + i + "_" + suffix + "@test.com")
+                    .build()));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        List<Long> itemIds = items.stream().map(Item::getId).toList();
+        bookingRepository.deleteAll(bookingRepository.findAll().stream()
+                .filter(booking -> itemIds.contains(booking.getItem().getId()))
+                .toList());
+        itemRepository.deleteAll(items);
+        userRepository.deleteAll(users);
+    }
+
+    @Test
+    @DisplayName("Одновременные бронирования не создают пересекающихся интервалов")
+    void concurrentBookingsNeverOverlap() throws InterruptedException {
+        LocalDateTime base = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        Queue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+
+        long startedAt;
+        try (ExecutorService executor = Executors.newFixedThreadPool(BOOKERS)) {
+            for (int i = 0; i < BOOKERS; i++) {
+                Long bookerId = users.get(i + 1).getId();
+                Long itemId = items.get(i % HOT_ITEMS).getId();
+                // Начала сдвинуты на часы, длительность двое суток: любые две заявки на вещь пересекаются
+                LocalDateTime bookingStart = base.plusHours((i / HOT_ITEMS) % SLOTS);
+                BookingDto request = BookingDto.builder()
+                        .itemId(itemId)
+                        .start(bookingStart)
+                        .end(bookingStart.plusDays(2))
+                        .build();
+
+                executor.submit(() -> {
+                    try {
+                        start.await();
+                        bookingService.create(request, bookerId);
+                        accepted.incrementAndGet();
+                    } catch (ShareItException.ConflictException e) {
+                        rejected.incrementAndGet();
+                    } catch (Throwable e) {
+                        unexpected.add(e);
+                    }
+                });
+            }
+            startedAt = System.nanoTime();
+            start.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(2, TimeUnit.MINUTES), "Бронирования не завершились за отведённое время");
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+
+        assertTrue(unexpected.isEmpty(), "Неожиданные ошибки: " + unexpected);
+        assertEquals(BOOKERS, accepted.get() + rejected.get());
+        assertEquals(HOT_ITEMS, accepted.get(), "Принято бронирований за " + elapsedMillis + " мс");
+
+        List<Long> itemIds = items.stream().map(Item::getId).toList();
+        List<Booking> saved = bookingRepository.findAll().stream()
+                .filter(booking -> itemIds.contains(booking.getItem().getId()))
+                .toList();
+        for (Long itemId : itemIds) {
+            assertEquals(1, saved.stream()
+                    .filter(booking -> booking.getItem().getId().equals(itemId))
+                    .filter(booking -> booking.getStatus() == BookingStatus.WAITING)
+                    .count(), "Пересекающиеся бронирования вещи " + itemId);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.integration;
 
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -8,7 +9,10 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.SqlStatementRecorder;
+import ru.practicum.shareit.booking.BookingApprovalOutcome;
 import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingApprovalResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.item.dto.ItemDto;
@@ -18,6 +22,7 @@ import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -39,6 +44,9 @@ public class BookingServiceIntegrationTest {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private EntityManager entityManager;
+
     private UserDto owner;
     private UserDto booker;
     private ItemDto item;
@@ -68,6 +76,37 @@ public class BookingServiceIntegrationTest {
         item = itemService.create(itemDto, owner.getId());
     }
 
+    @Test // Интеграционный тест: массовое подтверждение бронирований
+    @DisplayName("Интеграционный тест: массовое подтверждение одной выборкой, блокировкой и одним обновлением")
+    void approveAllIntegrationTest() {
+        List<Long> bookingIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            bookingIds.add(bookingService.create(BookingDto.builder()
+                    .itemId(item.getId())
+                    .start(now.plusDays(i * 2L + 1))
+                    .end(now.plusDays(i * 2L + 2))
+                    .build(), booker.getId()).getId());
+        }
+        bookingService.approve(bookingIds.get(2), owner.getId(), false);
+
+        List<Long> requested = new ArrayList<>(bookingIds);
+        requested.add(-1L);
+        entityManager.flush();
+        SqlStatementRecorder.reset();
+        List<BookingApprovalResultDto> results = bookingService.approveAll(requested, owner.getId(), true);
+
+        // Выборка владельцев и статусов, блокировка ожидающих строк и одно обновление
+        assertEquals(3, SqlStatementRecorder.count(), String.join("\n", SqlStatementRecorder.statements()));
+        assertEquals(List.of(BookingApprovalOutcome.UPDATED, BookingApprovalOutcome.UPDATED,
+                        BookingApprovalOutcome.ALREADY_PROCESSED, BookingApprovalOutcome.NOT_FOUND),
+                results.stream().map(BookingApprovalResultDto::getOutcome).toList());
+        assertEquals(BookingStatus.APPROVED, bookingService.getById(bookingIds.get(0), booker.getId()).getStatus());
+        assertEquals(BookingStatus.REJECTED, bookingService.getById(bookingIds.get(2), booker.getId()).getStatus());
+
+        List<BookingApprovalResultDto> byBooker = bookingService.approveAll(bookingIds, booker.getId(), false);
+        assertTrue(byBooker.stream().allMatch(result -> result.getOutcome() == BookingApprovalOutcome.FORBIDDEN));
+    }
+
     @Test // Интеграционный тест: создание и получение бронирования
     @DisplayName("Интеграционный тест: создание и получение бронирования")
     void createAndGetBookingIntegrationTest() {
@@ -118,4 +157,24 @@ public class BookingServiceIntegrationTest {
         assertTrue(bookings.stream().anyMatch(b -> b.getId().equals(createdBooking1.getId())));
         assertTrue(bookings.stream().anyMatch(b -> b.getId().equals(createdBooking2.getId())));
     }
+
+    @Test // Интеграционный тест: смещение, не кратное размеру страницы
+    @DisplayName("Интеграционный тест: список бронирований начинается ровно с from")
+    void getAllByBookerUsesExactOffsetIntegrationTest() {
+        List<Long> bookingIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            bookingIds.add(bookingService.create(BookingDto.builder()
+                    .itemId(item.getId())
+                    .start(now.plusDays(i * 2L + 1))
+                    .end(now.plusDays(i * 2L + 2))
+                    .build(), booker.getId()).getId());
+        }
+
+        // Сортировка по убыванию начала: третье, второе, первое. from = 1 при size = 2
+        // прежде округлялся до первой страницы и возвращал третье и второе
+        List<BookingDto> bookings = bookingService.getAllByBooker(booker.getId(), "ALL", 1, 2);
+
+        assertEquals(List.of(bookingIds.get(1), bookingIds.get(0)),
+                bookings.stream().map(BookingDto::getId).toList());
+    }
 }
\ No newline at end of file
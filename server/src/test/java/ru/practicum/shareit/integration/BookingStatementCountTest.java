@@ -0,0 +1,153 @@
+package ru.practicum.shareit.integration;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.EntityKey;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.SqlStatementRecorder;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Страница бронирований вместе с вещами, запросами и бронирующими загружается
+ * фиксированным числом запросов: проверка пользователя и одна выборка.
+ * Сущности при этом в контекст персистентности не попадают.
+ */
+@SpringBootTest
+@Transactional
+@ActiveProfiles("test")
+public class BookingStatementCountTest {
+    private static final int PAGE_SIZE = 100;
+    private static final int EXPECTED_STATEMENTS = 2;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User owner;
+    private User booker;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(User.builder()
+                .name("Owner")
+                .email("owner" + System.currentTimeMillis() + "@test.com")
+                .build());
+        booker = userRepository.save(User.builder()
+                .name("Booker")
+                .email("booker" + System.currentTimeMillis() + "@test.com")
+                .build());
+        User requestor = userRepository.save(User.builder()
+                .name("Requestor")
+                .email("requestor" + System.currentTimeMillis() + "@test.com")
+                .build());
+
+        LocalDateTime now = LocalDateTime.now();
+        BookingStatus[] statuses = BookingStatus.values();
+        for (int i = 0; i < 20; i++) {
+            ItemRequest request = i % 2 == 0 ? null : itemRequestRepository.save(ItemRequest.builder()
+                    .description("Request " + i)
+                    .requestor(requestor)
+                    .created(now)
+                    .build());
+            Item item = itemRepository.save(Item.builder()
+                    .name("Item " + i)
+                    .description("Description " + i)
+                    .available(true)
+                    .owner(owner)
+                    .request(request)
+                    .build());
+            for (int j = 0; j < 5; j++) {
+                bookingRepository.save(Booking.builder()
+                        .item(item)
+                        .booker(booker)
+                        .start(now.plusDays(i + j - 12))
+                        .end(now.plusDays(i + j - 10))
+                        .status(statuses[(i + j) % statuses.length])
+                        .build());
+            }
+        }
+
+        // Пустой контекст персистентности: связанные сущности не должны браться из кэша первого уровня
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @ParameterizedTest
+    @EnumSource(BookingState.class)
+    @DisplayName("Страница бронирований пользователя загружается постоянным числом запросов")
+    void bookerPageLoadsInConstantStatements(BookingState state) {
+        SqlStatementRecorder.reset();
+        List<BookingDto> bookings = bookingService.getAllByBooker(booker.getId(), state.name(), 0, PAGE_SIZE);
+        bookings.forEach(this::touchMappedFields);
+
+        assertEquals(EXPECTED_STATEMENTS, SqlStatementRecorder.count(), String.join("\n", SqlStatementRecorder.statements()));
+        assertEquals(0, managedEntities());
+    }
+
+    @ParameterizedTest
+    @EnumSource(BookingState.class)
+    @DisplayName("Страница бронирований владельца загружается постоянным числом запросов")
+    void ownerPageLoadsInConstantStatements(BookingState state) {
+        SqlStatementRecorder.reset();
+        List<BookingDto> bookings = bookingService.getAllByOwner(owner.getId(), state.name(), 0, PAGE_SIZE);
+        bookings.forEach(this::touchMappedFields);
+
+        assertEquals(EXPECTED_STATEMENTS, SqlStatementRecorder.count(), String.join("\n", SqlStatementRecorder.statements()));
+        assertEquals(0, managedEntities());
+    }
+
+    // Проверка пользователя идёт через find (ради кэша второго уровня), поэтому сам пользователь
+    // в контексте остаётся; бронирования, вещи и запросы попадать туда не должны
+    private long managedEntities() {
+        return entityManager.unwrap(Session.class).getStatistics().getEntityKeys().stream()
+                .map(EntityKey.class::cast)
+                .filter(key -> !key.getEntityName().equals(User.class.getName()))
+                .count();
+    }
+
+    // То же, что прочитает Jackson при сериализации ответа
+    private void touchMappedFields(BookingDto booking) {
+        booking.getBooker().getEmail();
+        ItemRequest request = booking.getItem().getRequest();
+        if (request != null) {
+            request.getRequestor().getName();
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package ru.practicum.shareit.integration;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.SqlStatementRecorder;
+import ru.practicum.shareit.booking.BookingCursor;
+import ru.practicum.shareit.booking.BookingRole;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Единый запрос findViews возвращает те же страницы, что и двенадцать прежних обработчиков
+ * состояний. Эталон — их JPQL-запросы в исходном виде; данные охватывают все состояния,
+ * чужие вещи и бронирования, вещи с запросами и без. Страницы findViewsAfter по курсору
+ * сверяются с той же выборкой по смещению.
+ */
+@SpringBootTest
+@Transactional
+@ActiveProfiles("test")
+public class BookingViewQueryEquivalenceTest {
+    private static final String VIEW_SELECT = "SELECT new ru.practicum.shareit.booking.dto.BookingView(" +
+            "b.id, b.start, b.end, b.status, " +
+            "i.id, i.name, i.description, i.available, " +
+            "r.id, r.description, r.created, rq.id, rq.name, rq.email, " +
+            "u.id, u.name, u.email) " +
+            "FROM Booking b JOIN b.item i JOIN b.booker u " +
+            "LEFT JOIN i.request r LEFT JOIN r.requestor rq ";
+    private static final String OWNER_ITEMS = "b.item.id IN (SELECT o.id FROM Item o WHERE o.owner.id = :userId)";
+    private static final String BOOKER = "b.booker.id = :userId";
+    private static final Map<BookingState, String> STATE_CONDITIONS = new EnumMap<>(Map.of(
+            BookingState.ALL, "",
+            BookingState.CURRENT, " AND b.start < :now AND b.end > :now",
+            BookingState.PAST, " AND b.end < :now",
+            BookingState.FUTURE, " AND b.start > :now",
+            BookingState.WAITING, " AND b.status = 'WAITING'",
+            BookingState.REJECTED, " AND b.status = 'REJECTED'"));
+    private static final int[][] PAGES = {{0, 3}, {1, 3}, {2, 3}, {0, 100}};
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User owner;
+    private User booker;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        long suffix = System.nanoTime();
+        owner = userRepository.save(User.builder().name("Owner").email("owner" + suffix + "@test.com").build());
+        booker = userRepository.save(User.builder().name("Booker").email("booker" + suffix + "@test.com").build());
+        User otherOwner = userRepository.save(User.builder()
+                .name("Other owner").email("other-owner" + suffix + "@test.com").build());
+        User otherBooker = userRepository.save(User.builder()
+                .name("Other booker").email("other-booker" + suffix + "@test.com").build());
+        ItemRequest request = itemRequestRepository.save(ItemRequest.builder()
+                .description("Нужна дрель")
+                .requestor(otherBooker)
+                .created(LocalDateTime.now())
+                .build());
+
+        now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        List<Item> items = List.of(
+                item("Дрель", owner, request),
+                item("Пила", owner, null),
+                item("Лестница", otherOwner, null));
+        BookingStatus[] statuses = BookingStatus.values();
+        int n = 0;
+        for (Item item : items) {
+            for (User user : List.of(booker, otherBooker)) {
+                for (int day = -6; day <= 6; day += 2) {
+                    // Начала различаются, чтобы порядок по start был однозначным
+                    LocalDateTime start = now.plusDays(day).plusMinutes(n);
+                    bookingRepository.save(Booking.builder()
+                            .item(item)
+                            .booker(user)
+                            .start(start)
+                            .end(start.plusDays(3))
+                            .status(statuses[n % statuses.length])
+                            .build());
+                    n++;
+                }
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    static Stream<Arguments> roleStatesAndPages() {
+        return Arrays.stream(BookingRole.values())
+                .flatMap(role -> Arrays.stream(BookingState.values())
+                        .flatMap(state -> Arrays.stream(PAGES)
+                                .map(page -> Arguments.of(role, state, page[0], page[1]))));
+    }
+
+    @ParameterizedTest(name = "{0} {1} page={2} size={3}")
+    @MethodSource("roleStatesAndPages")
+    @DisplayName("Страница совпадает с результатом прежнего обработчика состояния")
+    void samePageAsLegacyHandler(BookingRole role, BookingState state, int page, int size) {
+        Long userId = role == BookingRole.BOOKER ? booker.getId() : owner.getId();
+        PageRequest pageRequest = PageRequest.of(page, size, Sort.by("start").descending());
+
+        List<BookingView> expected = legacyQuery(role, state, userId, pageRequest);
+        SqlStatementRecorder.reset();
+        List<BookingView> actual = bookingRepository.findViews(role, userId, state, now, pageRequest);
+
+        assertEquals(expected, actual);
+        assertEquals(1, SqlStatementRecorder.count(), String.join("\n", SqlStatementRecorder.statements()));
+        assertTrue(actual.size() <= size);
+    }
+
+    @ParameterizedTest(name = "{0} {1}")
+    @MethodSource("rolesAndStates")
+    @DisplayName("Страницы по курсору вместе дают тот же список, что и выборка по смещению")
+    void keysetPagesMatchOffsetOrder(BookingRole role, BookingState state) {
+        Long userId = role == BookingRole.BOOKER ? booker.getId() : owner.getId();
+        // Бронирования с одинаковым start: порядок между ними задаёт только id
+        Item item = itemRepository.findByOwnerId(owner.getId()).get(0);
+        LocalDateTime tiedStart = now.minusDays(10);
+        for (BookingStatus status : BookingStatus.values()) {
+            bookingRepository.save(Booking.builder()
+                    .item(item)
+                    .booker(booker)
+                    .start(tiedStart)
+                    .end(tiedStart.plusHours(1))
+                    .status(status)
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<BookingView> expected = bookingRepository.findViews(role, userId, state, now,
+                PageRequest.of(0, 100, Sort.by(Sort.Direction.DESC, "start", "id")));
+        List<BookingView> actual = new ArrayList<>();
+        BookingCursor after = null;
+        List<BookingView> page;
+        do {
+            SqlStatementRecorder.reset();
+            page = bookingRepository.findViewsAfter(role, userId, state, now, after, 2);
+            assertEquals(1, SqlStatementRecorder.count());
+            actual.addAll(page);
+            if (!page.isEmpty()) {
+                BookingView last = page.get(page.size() - 1);
+                after = new BookingCursor(last.start(), last.id());
+            }
+        } while (page.size() == 2);
+
+        assertEquals(expected, actual);
+    }
+
+    static Stream<Arguments> rolesAndStates() {
+        return Arrays.stream(BookingRole.values())
+                .flatMap(role -> Arrays.stream(BookingState.values()).map(state -> Arguments.of(role, state)));
+    }
+
+    @Test
+    @DisplayName("Каждое состояние и роль дают непустую выборку в тестовых данных")
+    void everyStateHasRows() {
+        for (BookingRole role : BookingRole.values()) {
+            Long userId = role == BookingRole.BOOKER ? booker.getId() : owner.getId();
+            for (BookingState state : BookingState.values()) {
+                assertFalse(bookingRepository.findViews(role, userId, state, now, PageRequest.of(0, 100)).isEmpty(),
+                        role + " " + state);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Выборка без страницы не выполняется")
+    void unpagedRequestIsRejected() {
+        assertThrows(InvalidDataAccessApiUsageException.class, () -> bookingRepository.findViews(BookingRole.BOOKER,
+                booker.getId(), BookingState.ALL, now, Pageable.unpaged()));
+    }
+
+    private List<BookingView> legacyQuery(BookingRole role, BookingState state, Long userId, PageRequest pageRequest) {
+        String where = (role == BookingRole.BOOKER ? BOOKER : OWNER_ITEMS) + STATE_CONDITIONS.get(state);
+        TypedQuery<BookingView> query = entityManager.createQuery(VIEW_SELECT + "WHERE " + where + " ORDER BY b.start DESC",
+                        BookingView.class)
+                .setParameter("userId", userId)
+                .setFirstResult((int) pageRequest.getOffset())
+                .setMaxResults(pageRequest.getPageSize());
+        if (where.contains(":now")) {
+            query.setParameter("now", now);
+        }
+        return query.getResultList();
+    }
+
+    private Item item(String name, User itemOwner, ItemRequest request) {
+        return itemRepository.save(Item.builder()
+                .name(name)
+                .description(name + " в аренду")
+                .available(true)
+                .owner(itemOwner)
+                .request(request)
+                .build());
+    }
+}
\ No newline at end of file
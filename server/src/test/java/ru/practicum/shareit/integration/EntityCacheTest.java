@@ -0,0 +1,126 @@
+package ru.practicum.shareit.integration;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.SqlStatementRecorder;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Серия запросов на бронирование при прогретом кэше второго уровня не перечитывает
+ * пользователей, а изменения пользователя и вещи видны сразу после фиксации.
+ * Потоковая выгрузка пользователей кэш не наполняет.
+ * Транзакции здесь настоящие: кэш наполняется только зафиксированными данными.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:entity-cache;MODE=PostgreSQL")
+@ActiveProfiles("test")
+@DirtiesContext
+public class EntityCacheTest {
+    private static final int REQUESTS = 20;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private UserDto owner;
+    private UserDto booker;
+    private ItemDto item;
+
+    @BeforeEach
+    void setUp() {
+        long suffix = System.nanoTime();
+        owner = userService.create(User.builder().name("Owner").email("owner" + suffix + "@test.com").build());
+        booker = userService.create(User.builder().name("Booker").email("booker" + suffix + "@test.com").build());
+        item = itemService.create(ItemDto.builder()
+                .name("Drill")
+                .description("Cordless drill")
+                .available(true)
+                .build(), owner.getId());
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    @DisplayName("Повторные бронирования читают пользователя из кэша")
+    void bookingRequestsReadUsersFromCache() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+        SqlStatementRecorder.reset();
+        createBooking(start);
+        long coldUserReads = countUserReads();
+
+        SqlStatementRecorder.reset();
+        for (int i = 1; i <= REQUESTS; i++) {
+            createBooking(start.plusDays(2L * i));
+            bookingService.getAllByBooker(booker.getId(), "ALL", 0, 10);
+        }
+        long warmUserReads = countUserReads();
+
+        assertTrue(coldUserReads > 0, "Первое бронирование должно прочитать пользователя из базы");
+        assertEquals(0, warmUserReads, "При прогретом кэше пользователи не перечитываются");
+    }
+
+    @Test
+    @DisplayName("Изменения пользователя и вещи видны после фиксации")
+    void updatesAreVisibleAfterCommit() {
+        userService.getById(booker.getId());
+        itemService.getById(item.getId(), owner.getId());
+
+        userService.update(User.builder().name("Renamed").build(), booker.getId());
+        itemService.update(ItemDto.builder().name("Hammer").build(), item.getId(), owner.getId());
+
+        assertEquals("Renamed", userService.getById(booker.getId()).getName());
+        assertEquals("Hammer", itemService.getById(item.getId(), owner.getId()).getName());
+    }
+
+    @Test
+    @DisplayName("Выгрузка пользователей не наполняет кэш второго уровня")
+    void exportDoesNotPopulateCache() {
+        List<Long> exported = new ArrayList<>();
+        userService.exportAll(user -> exported.add(user.getId()));
+
+        assertTrue(exported.containsAll(List.of(owner.getId(), booker.getId())));
+        assertFalse(entityManagerFactory.getCache().contains(User.class, owner.getId()));
+        assertFalse(entityManagerFactory.getCache().contains(User.class, booker.getId()));
+    }
+
+    private void createBooking(LocalDateTime start) {
+        bookingService.create(BookingDto.builder()
+                .itemId(item.getId())
+                .start(start)
+                .end(start.plusDays(1))
+                .build(), booker.getId());
+    }
+
+    private long countUserReads() {
+        return SqlStatementRecorder.statements().stream()
+                .filter(sql -> sql.toLowerCase().contains("from users"))
+                .count();
+    }
+}
@@ -0,0 +1,189 @@
+package ru.practicum.shareit.integration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.SqlStatementRecorder;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Проверяет планы H2 для всех двенадцати выборок бронирований (booker и owner по каждому состоянию),
+ * по смещению и по курсору: ни одна таблица не должна читаться полным сканированием. Для поиска свободных вещей
+ * проверяется, что пересечения ищутся по индексу bookings.
+ * <p>
+ * Планы строит H2 по схеме, которую Hibernate создаёт из сущностей (индексы из @Table), а не по schema.sql,
+ * и для текста запроса с неподставленными параметрами ?. Тест ловит запросы, которым не подходит ни один
+ * объявленный индекс, но ничего не говорит о планах PostgreSQL: частичные индексы, pg_trgm и выбор
+ * по статистике им не проверяются.
+ * <p>
+ * Проверка планов PostgreSQL не реализована: для неё нужен EXPLAIN на PostgreSQL со схемой из schema.sql,
+ * подставленными параметрами и объёмом данных, при котором планировщик выбирает индексы. В тестовом
+ * окружении нет ни PostgreSQL, ни Docker для Testcontainers. Пока такого теста нет, планы после изменения
+ * индексов в schema.sql нужно проверять вручную через EXPLAIN (ANALYZE) на базе с реальными данными.
+ */
+@SpringBootTest
+@Transactional
+@ActiveProfiles("test")
+public class H2BookingQueryPlanTest {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User owner;
+    private User booker;
+    private Item bookedItem;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(User.builder()
+                .name("Owner")
+                .email("owner" + System.currentTimeMillis() + "@test.com")
+                .build());
+        booker = userRepository.save(User.builder()
+                .name("Booker")
+                .email("booker" + System.currentTimeMillis() + "@test.com")
+                .build());
+
+        LocalDateTime now = LocalDateTime.now();
+        BookingStatus[] statuses = BookingStatus.values();
+        for (int i = 0; i < 5; i++) {
+            Item item = itemRepository.save(Item.builder()
+                    .name("Item " + i)
+                    .description("Description " + i)
+                    .available(true)
+                    .owner(owner)
+                    .build());
+            if (bookedItem == null) {
+                bookedItem = item;
+            }
+            for (int j = 0; j < 10; j++) {
+                bookingRepository.save(Booking.builder()
+                        .item(item)
+                        .booker(booker)
+                        .start(now.plusDays(j - 5))
+                        .end(now.plusDays(j - 4))
+                        .status(statuses[j % statuses.length])
+                        .build());
+            }
+        }
+        bookingRepository.flush();
+    }
+
+    @ParameterizedTest
+    @EnumSource(BookingState.class)
+    @DisplayName("H2: выборка бронирований пользователя не использует полное сканирование")
+    void bookerQueriesUseIndexes(BookingState state) {
+        SqlStatementRecorder.reset();
+        bookingService.getAllByBooker(booker.getId(), state.name(), 0, 10);
+
+        assertNoTableScans(state);
+    }
+
+    @ParameterizedTest
+    @EnumSource(BookingState.class)
+    @DisplayName("H2: выборка бронирований владельца не использует полное сканирование")
+    void ownerQueriesUseIndexes(BookingState state) {
+        SqlStatementRecorder.reset();
+        bookingService.getAllByOwner(owner.getId(), state.name(), 0, 10);
+
+        assertNoTableScans(state);
+    }
+
+    @ParameterizedTest
+    @EnumSource(BookingState.class)
+    @DisplayName("H2: страница бронирований по курсору не использует полное сканирование")
+    void keysetQueriesUseIndexes(BookingState state) {
+        String after = LocalDateTime.now().withNano(0) + ",1000000";
+        SqlStatementRecorder.reset();
+        bookingService.getPageByBooker(booker.getId(), state.name(), after, 10);
+        bookingService.getPageByOwner(owner.getId(), state.name(), after, 10);
+
+        assertNoTableScans(state);
+    }
+
+    @Test
+    @DisplayName("H2: поиск свободных вещей проверяет пересечения по индексу бронирований")
+    void availableSearchUsesBookingIndex() {
+        LocalDateTime now = LocalDateTime.now();
+        SqlStatementRecorder.reset();
+        itemService.searchAvailable("item", now, now.plusDays(2), 0, 10);
+
+        // Вторым запросом читается сводка отзывов найденных вещей
+        List<String> statements = SqlStatementRecorder.statements().stream()
+                .filter(sql -> sql.toLowerCase().contains("bookings"))
+                .toList();
+        assertEquals(1, statements.size());
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + statements.get(0), String.class);
+        assertTrue(plan != null && !plan.contains("BOOKINGS.tableScan"),
+                "Полное сканирование bookings в поиске свободных вещей:\n" + plan);
+    }
+
+    @Test
+    @DisplayName("H2: право оставить отзыв проверяется по индексу (booker_id, item_id, status, end_date)")
+    void commentEligibilityUsesBookingIndex() {
+        SqlStatementRecorder.reset();
+        assertTrue(bookingRepository.hasUserBookedItem(booker.getId(), bookedItem.getId(), LocalDateTime.now()));
+        assertTrue(bookingRepository.findEligibleAuthorName(booker.getId(), bookedItem.getId(), LocalDateTime.now())
+                .isPresent());
+
+        List<String> statements = SqlStatementRecorder.statements();
+        assertEquals(2, statements.size());
+        for (String sql : statements) {
+            String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+            assertTrue(plan != null && plan.toLowerCase().contains("idx_bookings_booker_item_status_end"),
+                    "Проверка права на отзыв не использует индекс:\n" + plan);
+        }
+    }
+
+    private void assertNoTableScans(BookingState state) {
+        List<String> statements = SqlStatementRecorder.statements();
+        List<String> bookingQueries = statements.stream()
+                .filter(sql -> sql.toLowerCase().contains("from bookings"))
+                .toList();
+        assertFalse(bookingQueries.isEmpty(), "Не выполнено ни одного запроса к bookings для " + state);
+
+        for (String sql : statements) {
+            String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+            assertTrue(plan != null && !plan.contains(".tableScan"),
+                    "Полное сканирование таблицы для состояния " + state + ":\n" + plan);
+        }
+    }
+}
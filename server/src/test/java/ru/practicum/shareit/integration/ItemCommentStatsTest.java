@@ -0,0 +1,222 @@
+package ru.practicum.shareit.integration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemCommentStats;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemCommentStatsRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.item.stats.ItemCommentStatsReconciler;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Сводка отзывов item_comment_stats: одновременные отзывы на одну вещь не теряют приращений
+ * счётчика, а сверка восстанавливает испорченную и отсутствующую сводку по таблице comments.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:comment-stats;MODE=PostgreSQL;LOCK_TIMEOUT=10000")
+@ActiveProfiles("test")
+@DirtiesContext
+public class ItemCommentStatsTest {
+    private static final int AUTHORS = 50;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemCommentStatsReconciler reconciler;
+
+    @Autowired
+    private ItemCommentStatsRepository commentStatsRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final List<User> authors = new ArrayList<>();
+    private final List<Long> itemIds = new ArrayList<>();
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        long suffix = System.currentTimeMillis();
+        owner = userRepository.save(User.builder()
+                .name("Owner")
+                .email("owner" + suffix + "@test.com")
+                .build());
+
+        for (int i = 0; i < 2; i++) {
+            itemIds.add(itemService.create(ItemDto.builder()
+                    .name("Item " + i)
+                    .description("Description " + i)
+                    .available(true)
+                    .build(), owner.getId()).getId());
+        }
+
+        LocalDateTime start = LocalDateTime.now().minusDays(2);
+        for (int i = 0; i < AUTHORS; i++) {
+            User author = userRepository.save(User.builder()
+                    .name("Author " + i)
+                    .email("author" + i + "_" + suffix + "@test.com")
+                    .build());
+            authors.add(author);
+            for (Long itemId : itemIds) {
+                bookingRepository.save(Booking.builder()
+                        .item(itemRepository.getReferenceById(itemId))
+                        .booker(author)
+                        .start(start)
+                        .end(start.plusDays(1))
+                        .status(BookingStatus.APPROVED)
+                        .build());
+            }
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        commentRepository.deleteAll(commentRepository.findAll().stream()
+                .filter(comment -> itemIds.contains(comment.getItem().getId()))
+                .toList());
+        bookingRepository.deleteAll(bookingRepository.findAll().stream()
+                .filter(booking -> itemIds.contains(booking.getItem().getId()))
+                .toList());
+        itemIds.forEach(itemService::delete);
+        userRepository.deleteAll(authors);
+        userRepository.delete(owner);
+    }
+
+    @Test
+    @DisplayName("Одновременные отзывы учитываются в сводке все до одного")
+    void concurrentCommentsKeepStatsExact() throws InterruptedException {
+        Long itemId = itemIds.get(0);
+        Queue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(AUTHORS)) {
+            for (int i = 0; i < AUTHORS; i++) {
+                Long authorId = authors.get(i).getId();
+                CommentDto request = CommentDto.builder()
+                        .text("Comment " + i)
+                        .build();
+                executor.submit(() -> {
+                    try {
+                        start.await();
+                        itemService.createComment(itemId, request, authorId);
+                    } catch (Throwable e) {
+                        unexpected.add(e);
+                    }
+                });
+            }
+            start.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(2, TimeUnit.MINUTES), "Отзывы не сохранились за отведённое время");
+        }
+
+        assertTrue(unexpected.isEmpty(), "Неожиданные ошибки: " + unexpected);
+        Comment newest = commentRepository.findAll().stream()
+                .filter(comment -> comment.getItem().getId().equals(itemId))
+                .max(Comparator.comparing(Comment::getCreated))
+                .orElseThrow();
+        ItemCommentStats stats = commentStatsRepository.findById(itemId).orElseThrow();
+        assertEquals(AUTHORS, stats.getCommentCount());
+        assertEquals(newest.getCreated(), stats.getLastCommentAt());
+
+        ItemDto item = itemService.getById(itemId, owner.getId());
+        assertEquals(AUTHORS, item.getCommentCount());
+        assertEquals(newest.getCreated(), item.getLastComment().getCreated());
+    }
+
+    @Test
+    @DisplayName("Отзыв на вещь без сводки создаёт её по уже сохранённым отзывам")
+    void commentRecreatesMissingStats() {
+        Long itemId = itemIds.get(0);
+        Item item = itemRepository.findById(itemId).orElseThrow();
+        for (int i = 0; i < 3; i++) {
+            commentRepository.save(Comment.builder()
+                    .text("Imported " + i)
+                    .item(item)
+                    .author(authors.get(i))
+                    .created(LocalDateTime.now().minusDays(1).plusMinutes(i))
+                    .build());
+        }
+        commentStatsRepository.deleteById(itemId);
+
+        itemService.createComment(itemId, CommentDto.builder().text("Fresh").build(), authors.get(3).getId());
+
+        ItemCommentStats stats = commentStatsRepository.findById(itemId).orElseThrow();
+        assertEquals(4, stats.getCommentCount());
+        assertEquals("Fresh", stats.getLastCommentText());
+    }
+
+    @Test
+    @DisplayName("Сверка исправляет расходящуюся и восстанавливает отсутствующую сводку")
+    void reconcilerRepairsDriftedAndMissingStats() {
+        Long driftedId = itemIds.get(0);
+        Long missingId = itemIds.get(1);
+        for (int i = 0; i < 3; i++) {
+            itemService.createComment(driftedId, CommentDto.builder().text("Drifted " + i).build(),
+                    authors.get(i).getId());
+            itemService.createComment(missingId, CommentDto.builder().text("Missing " + i).build(),
+                    authors.get(i).getId());
+        }
+        // Прогреваем кэш ItemDto: сверка должна сбросить устаревшую запись
+        assertEquals(3, itemService.getById(driftedId, owner.getId()).getCommentCount());
+
+        ItemCommentStats drifted = commentStatsRepository.findById(driftedId).orElseThrow();
+        drifted.setCommentCount(42);
+        drifted.clearLastComment();
+        commentStatsRepository.save(drifted);
+        commentStatsRepository.deleteById(missingId);
+
+        reconciler.reconcile();
+
+        ItemCommentStats repaired = commentStatsRepository.findById(driftedId).orElseThrow();
+        assertEquals(3, repaired.getCommentCount());
+        assertEquals("Drifted 2", repaired.getLastCommentText());
+        assertEquals("Author 2", repaired.getLastAuthorName());
+
+        ItemCommentStats restored = commentStatsRepository.findById(missingId).orElseThrow();
+        assertEquals(3, restored.getCommentCount());
+        assertEquals("Missing 2", restored.getLastCommentText());
+
+        ItemDto item = itemService.getById(driftedId, owner.getId());
+        assertEquals(3, item.getCommentCount());
+        assertEquals("Drifted 2", item.getLastComment().getText());
+    }
+}
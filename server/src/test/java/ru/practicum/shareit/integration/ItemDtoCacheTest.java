@@ -0,0 +1,171 @@
+package ru.practicum.shareit.integration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.SqlStatementRecorder;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Кэш собранных ItemDto: попадание без SQL, соединения и транзакции, сброс при изменениях вещи, отзывов и бронирований,
+ * пересборка сводки бронирований, когда ближайшее бронирование начинается.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:item-dto-cache;MODE=PostgreSQL")
+@ActiveProfiles("test")
+@DirtiesContext
+public class ItemDtoCacheTest {
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private UserDto owner;
+    private UserDto booker;
+    private ItemDto item;
+
+    @BeforeEach
+    void setUp() {
+        long suffix = System.nanoTime();
+        owner = userService.create(User.builder().name("Owner").email("owner" + suffix + "@test.com").build());
+        booker = userService.create(User.builder().name("Booker").email("booker" + suffix + "@test.com").build());
+        item = itemService.create(ItemDto.builder()
+                .name("Drill")
+                .description("Cordless drill")
+                .available(true)
+                .build(), owner.getId());
+    }
+
+    @Test
+    @DisplayName("Повторное чтение вещи обслуживается из кэша без SQL")
+    void cacheHitRunsNoStatements() {
+        double hitsBefore = hits();
+        itemService.getById(item.getId(), owner.getId());
+
+        SqlStatementRecorder.reset();
+        ItemDto forOwner = itemService.getById(item.getId(), owner.getId());
+        ItemDto forBooker = itemService.getById(item.getId(), booker.getId());
+
+        assertEquals(0, SqlStatementRecorder.count(), String.join("\n", SqlStatementRecorder.statements()));
+        assertEquals("Drill", forOwner.getName());
+        assertEquals("Drill", forBooker.getName());
+        assertEquals(hitsBefore + 2, hits());
+    }
+
+    @Test
+    @DisplayName("Попадание в кэш не берёт соединение и не открывает транзакцию")
+    void cacheHitOpensNoConnectionOrTransaction() {
+        itemService.getById(item.getId(), owner.getId());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long connectsBefore = statistics.getConnectCount();
+        long transactionsBefore = statistics.getTransactionCount();
+        itemService.getById(item.getId(), owner.getId());
+        itemService.getById(item.getId(), booker.getId());
+
+        assertEquals(connectsBefore, statistics.getConnectCount());
+        assertEquals(transactionsBefore, statistics.getTransactionCount());
+    }
+
+    @Test
+    @DisplayName("Промах кэша собирает вещь в транзакции")
+    void cacheMissLoadsInTransaction() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long transactionsBefore = statistics.getTransactionCount();
+
+        assertEquals("Drill", itemService.getById(item.getId(), owner.getId()).getName());
+        assertEquals(transactionsBefore + 1, statistics.getTransactionCount());
+    }
+
+    @Test
+    @DisplayName("Изменение вещи, бронирование и отзыв сбрасывают кэш")
+    void changesInvalidateCachedItem() {
+        itemService.getById(item.getId(), owner.getId());
+        itemService.update(ItemDto.builder().name("Hammer drill").build(), item.getId(), owner.getId());
+        assertEquals("Hammer drill", itemService.getById(item.getId(), owner.getId()).getName());
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        BookingDto future = bookingService.create(BookingDto.builder()
+                .itemId(item.getId())
+                .start(start)
+                .end(start.plusDays(1))
+                .build(), booker.getId());
+        assertNull(itemService.getById(item.getId(), owner.getId()).getNextBooking());
+        bookingService.approve(future.getId(), owner.getId(), true);
+        assertEquals(future.getId(), itemService.getById(item.getId(), owner.getId()).getNextBooking().getId());
+
+        BookingDto past = bookingService.create(BookingDto.builder()
+                .itemId(item.getId())
+                .start(LocalDateTime.now().minusDays(3))
+                .end(LocalDateTime.now().minusDays(2))
+                .build(), booker.getId());
+        bookingService.approve(past.getId(), owner.getId(), true);
+        itemService.getById(item.getId(), booker.getId());
+        itemService.createComment(item.getId(), CommentDto.builder().text("Great drill").build(), booker.getId());
+
+        ItemDto withComment = itemService.getById(item.getId(), booker.getId());
+        assertEquals(1, withComment.getComments().size());
+        assertEquals("Great drill", withComment.getComments().get(0).getText());
+    }
+
+    @Test
+    @DisplayName("Сводка бронирований пересобирается, когда начинается ближайшее бронирование")
+    void snapshotRefreshesAtBookingBoundary() throws InterruptedException {
+        LocalDateTime start = LocalDateTime.now().plusSeconds(1);
+        BookingDto booking = bookingService.create(BookingDto.builder()
+                .itemId(item.getId())
+                .start(start)
+                .end(start.plusDays(1))
+                .build(), booker.getId());
+        bookingService.approve(booking.getId(), owner.getId(), true);
+
+        ItemDto before = itemService.getById(item.getId(), owner.getId());
+        assertEquals(booking.getId(), before.getNextBooking().getId());
+        assertNull(before.getLastBooking());
+
+        while (!LocalDateTime.now().isAfter(start)) {
+            Thread.sleep(50);
+        }
+
+        ItemDto after = itemService.getById(item.getId(), owner.getId());
+        assertEquals(booking.getId(), after.getLastBooking().getId());
+        assertNull(after.getNextBooking());
+        assertTrue(meterRegistry.get("cache.invalidations").tag("cache", "item-dto").counter().count() > 0);
+    }
+
+    private double hits() {
+        return meterRegistry.get("cache.gets").tag("cache", "item-dto").tag("result", "hit")
+                .functionCounter().count();
+    }
+}
@@ -7,18 +7,34 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.exception.ShareItException;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.item.stats.ItemCommentStatsReconciler;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
 import ru.practicum.shareit.user.service.UserService;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest
@@ -33,6 +49,21 @@ public class ItemServiceIntegrationTest {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemCommentStatsReconciler commentStatsReconciler;
+
     private UserDto owner;
     private UserDto user;
 
@@ -96,4 +127,217 @@ public class ItemServiceIntegrationTest {
         assertEquals(1, userItems.size());
         assertTrue(userItems.stream().anyMatch(item -> item.getName().equals("User Item")));
     }
-}
\ No newline at end of file
+
+    @Test // Интеграционный тест: последнее и следующее бронирование для всех вещей владельца
+    @DisplayName("Интеграционный тест: последнее и следующее бронирование в списке вещей")
+    void getUserItemsWithLastAndNextBookingsIntegrationTest() {
+        LocalDateTime now = LocalDateTime.now();
+        ItemDto first = itemService.create(ItemDto.builder()
+                .name("First")
+                .description("First Description")
+                .available(true)
+                .build(), owner.getId());
+        ItemDto second = itemService.create(ItemDto.builder()
+                .name("Second")
+                .description("Second Description")
+                .available(true)
+                .build(), owner.getId());
+        ItemDto third = itemService.create(ItemDto.builder()
+                .name("Third")
+                .description("Third Description")
+                .available(true)
+                .build(), owner.getId());
+
+        BookingDto olderPast = createApproved(first.getId(), now.minusDays(5), now.minusDays(4));
+        BookingDto latestPast = createApproved(first.getId(), now.minusDays(3), now.minusDays(2));
+        BookingDto nearFuture = createApproved(first.getId(), now.plusDays(1), now.plusDays(2));
+        createApproved(first.getId(), now.plusDays(3), now.plusDays(4));
+        BookingDto secondFuture = createApproved(second.getId(), now.plusDays(5), now.plusDays(6));
+        bookingService.create(BookingDto.builder()
+                .itemId(third.getId())
+                .start(now.plusDays(1))
+                .end(now.plusDays(2))
+                .build(), user.getId());
+
+        List<ItemDto> ownerItems = itemService.getAll(owner.getId());
+
+        ItemDto firstResult = findById(ownerItems, first.getId());
+        assertEquals(latestPast.getId(), firstResult.getLastBooking().getId());
+        assertEquals(nearFuture.getId(), firstResult.getNextBooking().getId());
+        assertEquals(user.getId(), firstResult.getLastBooking().getBookerId());
+        assertTrue(olderPast.getId() < latestPast.getId());
+
+        ItemDto secondResult = findById(ownerItems, second.getId());
+        assertNull(secondResult.getLastBooking());
+        assertEquals(secondFuture.getId(), secondResult.getNextBooking().getId());
+
+        ItemDto thirdResult = findById(ownerItems, third.getId());
+        assertNull(thirdResult.getLastBooking());
+        assertNull(thirdResult.getNextBooking());
+    }
+
+    @Test // Интеграционный тест: поиск с ранжированием и пагинацией
+    @DisplayName("Интеграционный тест: поиск доступных вещей постранично")
+    void searchItemsWithPaginationIntegrationTest() {
+        ItemDto byDescription = itemService.create(ItemDto.builder()
+                .name("Tool")
+                .description("Cordless drill")
+                .available(true)
+                .build(), owner.getId());
+        ItemDto byName = itemService.create(ItemDto.builder()
+                .name("Drill")
+                .description("Heavy tool")
+                .available(true)
+                .build(), owner.getId());
+        itemService.create(ItemDto.builder()
+                .name("Old drill")
+                .description("Broken")
+                .available(false)
+                .build(), owner.getId());
+
+        List<ItemDto> firstPage = itemService.search("DRILL", 0, 1);
+        List<ItemDto> secondPage = itemService.search("drill", 1, 1);
+        List<ItemDto> all = itemService.search("drill", 0, 10);
+
+        assertEquals(1, firstPage.size());
+        assertEquals(byName.getId(), firstPage.get(0).getId());
+        assertEquals(1, secondPage.size());
+        assertEquals(byDescription.getId(), secondPage.get(0).getId());
+        assertEquals(2, all.size());
+        assertTrue(itemService.search(" ", 0, 10).isEmpty());
+    }
+
+    @Test // Интеграционный тест: смещение поиска, не кратное размеру страницы
+    @DisplayName("Интеграционный тест: страница поиска начинается ровно с from")
+    void searchUsesExactOffsetIntegrationTest() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            ids.add(itemService.create(ItemDto.builder()
+                    .name("Drill " + i)
+                    .description("Drill")
+                    .available(true)
+                    .build(), owner.getId()).getId());
+        }
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+        // При from = 5 и size = 10 прежний PageRequest.of(from / size, size) возвращал строки 0–9
+        List<ItemDto> page = itemService.search("drill", 5, 10);
+        List<ItemDto> availablePage = itemService.searchAvailable("drill", start, start.plusDays(1), 5, 10);
+
+        assertEquals(ids.subList(5, 15), page.stream().map(ItemDto::getId).toList());
+        assertEquals(ids.get(5), availablePage.get(0).getId());
+        assertEquals(10, availablePage.size());
+    }
+
+    @Test // Интеграционный тест: поиск вещей, свободных на интервале
+    @DisplayName("Интеграционный тест: поиск вещей, свободных на интервале")
+    void searchAvailableItemsIntegrationTest() {
+        LocalDateTime friday = LocalDateTime.now().plusDays(7).truncatedTo(ChronoUnit.SECONDS);
+        LocalDateTime sunday = friday.plusDays(2);
+        ItemDto booked = itemService.create(ItemDto.builder()
+                .name("Drill")
+                .description("Booked for the weekend")
+                .available(true)
+                .build(), owner.getId());
+        ItemDto rejected = itemService.create(ItemDto.builder()
+                .name("Hammer drill")
+                .description("Booking was rejected")
+                .available(true)
+                .build(), owner.getId());
+        ItemDto free = itemService.create(ItemDto.builder()
+                .name("Tool")
+                .description("Cordless drill, booked next week")
+                .available(true)
+                .build(), owner.getId());
+
+        createApproved(booked.getId(), friday.plusHours(12), friday.plusDays(1));
+        BookingDto toReject = bookingService.create(BookingDto.builder()
+                .itemId(rejected.getId())
+                .start(friday)
+                .end(sunday)
+                .build(), user.getId());
+        bookingService.approve(toReject.getId(), owner.getId(), false);
+        createApproved(free.getId(), sunday, sunday.plusDays(3));
+
+        List<ItemDto> available = itemService.searchAvailable("drill", friday, sunday, 0, 10);
+        List<ItemDto> firstPage = itemService.searchAvailable("drill", friday, sunday, 0, 1);
+
+        assertEquals(List.of(rejected.getId(), free.getId()), available.stream().map(ItemDto::getId).toList());
+        assertEquals(1, firstPage.size());
+        assertEquals(rejected.getId(), firstPage.get(0).getId());
+        assertEquals(3, itemService.searchAvailable("drill", friday.minusDays(3), friday.minusDays(2), 0, 10).size());
+        assertThrows(ShareItException.BadRequestException.class,
+                () -> itemService.searchAvailable("drill", sunday, friday, 0, 10));
+    }
+
+    @Test // Интеграционный тест: последние отзывы в вещи, их общее число и страницы отзывов
+    // getById читает вне транзакции вызывающего, поэтому данные теста фиксируются
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("Интеграционный тест: вещь содержит только последние отзывы, остальные доступны постранично")
+    void latestCommentsAndCommentPagesIntegrationTest() {
+        ItemDto popular = itemService.create(ItemDto.builder()
+                .name("Popular")
+                .description("Many comments")
+                .available(true)
+                .build(), owner.getId());
+        ItemDto quiet = itemService.create(ItemDto.builder()
+                .name("Quiet")
+                .description("No comments")
+                .available(true)
+                .build(), owner.getId());
+
+        Item item = itemRepository.findById(popular.getId()).orElseThrow();
+        User author = userRepository.findById(user.getId()).orElseThrow();
+        LocalDateTime created = LocalDateTime.now().minusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        for (int i = 0; i < 15; i++) {
+            commentRepository.save(Comment.builder()
+                    .text("Comment " + i)
+                    .item(item)
+                    .author(author)
+                    .created(created.plusMinutes(i))
+                    .build());
+        }
+        commentRepository.flush();
+        // Отзывы записаны в обход сервиса: сводку отзывов пересчитывает сверка
+        commentStatsReconciler.reconcile();
+
+        ItemDto fromList = findById(itemService.getAll(owner.getId()), popular.getId());
+        ItemDto single = itemService.getById(popular.getId(), user.getId());
+
+        for (ItemDto itemDto : List.of(fromList, single)) {
+            assertEquals(15L, itemDto.getCommentCount());
+            assertEquals("Comment 14", itemDto.getLastComment().getText());
+            assertEquals(10, itemDto.getComments().size());
+            assertEquals("Comment 14", itemDto.getComments().get(0).getText());
+            assertEquals("Comment 5", itemDto.getComments().get(9).getText());
+            assertEquals(user.getName(), itemDto.getComments().get(0).getAuthorName());
+        }
+        assertEquals(0L, findById(itemService.getAll(owner.getId()), quiet.getId()).getCommentCount());
+        assertTrue(findById(itemService.getAll(owner.getId()), quiet.getId()).getComments().isEmpty());
+
+        List<CommentDto> lastPage = itemService.getComments(popular.getId(), 10, 10);
+        assertEquals(List.of("Comment 4", "Comment 3", "Comment 2", "Comment 1", "Comment 0"),
+                lastPage.stream().map(CommentDto::getText).toList());
+        // Смещение, не кратное размеру: страница начинается с седьмого по новизне отзыва
+        List<CommentDto> shiftedPage = itemService.getComments(popular.getId(), 6, 4);
+        assertEquals(List.of("Comment 8", "Comment 7", "Comment 6", "Comment 5"),
+                shiftedPage.stream().map(CommentDto::getText).toList());
+        assertThrows(ShareItException.NotFoundException.class, () -> itemService.getComments(-1L, 0, 10));
+    }
+
+    private BookingDto createApproved(Long itemId, LocalDateTime start, LocalDateTime end) {
+        BookingDto created = bookingService.create(BookingDto.builder()
+                .itemId(itemId)
+                .start(start)
+                .end(end)
+                .build(), user.getId());
+        return bookingService.approve(created.getId(), owner.getId(), true);
+    }
+
+    private ItemDto findById(List<ItemDto> items, Long id) {
+        return items.stream()
+                .filter(item -> item.getId().equals(id))
+                .findFirst()
+                .orElseThrow();
+    }
+}
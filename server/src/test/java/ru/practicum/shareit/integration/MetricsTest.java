@@ -0,0 +1,127 @@
+package ru.practicum.shareit.integration;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.SqlStatementRecorder;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.metrics.RequestTimingFilter;
+import ru.practicum.shareit.metrics.ServiceTimingInterceptor;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.util.Constants;
+
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Методы сервисов и вызовы репозиториев попадают в таймеры с тегами метода и состояния,
+ * а каждый HTTP-запрос сообщает, сколько SQL-запросов он выполнил, и возвращает
+ * свой идентификатор и Server-Timing.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:metrics;MODE=PostgreSQL")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext
+public class MetricsTest {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private UserDto user;
+
+    @BeforeEach
+    void setUp() {
+        user = userService.create(User.builder()
+                .name("User")
+                .email("user" + System.nanoTime() + "@test.com")
+                .build());
+    }
+
+    @Test
+    @DisplayName("Вызов сервиса учитывается с методом и состоянием бронирований")
+    void serviceCallIsTimedWithState() {
+        long before = serviceCount("getAllByBooker", "WAITING");
+
+        bookingService.getAllByBooker(user.getId(), "WAITING");
+
+        assertEquals(before + 1, serviceCount("getAllByBooker", "WAITING"));
+        assertNotNull(meterRegistry.find("spring.data.repository.invocations")
+                .tag("repository", "BookingRepository")
+                .timer());
+    }
+
+    @Test
+    @DisplayName("Неизвестное состояние и исключение попадают в теги")
+    void unknownStateAndExceptionAreTagged() {
+        assertThrows(RuntimeException.class, () -> bookingService.getAllByBooker(user.getId(), "SOMETIME"));
+
+        Timer timer = meterRegistry.find(ServiceTimingInterceptor.METRIC)
+                .tags("method", "getAllByBooker", "state", "UNKNOWN")
+                .timer();
+        assertNotNull(timer);
+        assertNotEquals("none", timer.getId().getTag("exception"));
+    }
+
+    @Test
+    @DisplayName("HTTP-запрос сообщает число выполненных SQL-запросов")
+    void httpRequestRecordsSqlStatements() throws Exception {
+        SqlStatementRecorder.reset();
+
+        mockMvc.perform(get("/users/{id}", user.getId())).andExpect(status().isOk());
+
+        DistributionSummary summary = meterRegistry.find(RequestTimingFilter.METRIC)
+                .tags("method", "GET", "uri", "/users/{id}", "status", "200")
+                .summary();
+        assertNotNull(summary);
+        assertTrue(summary.totalAmount() >= 1);
+        // Инспектор из настроек профиля test по-прежнему вызывается
+        assertTrue(SqlStatementRecorder.count() >= 1);
+    }
+
+    @Test
+    @DisplayName("Идентификатор запроса возвращается, а Server-Timing содержит время SQL")
+    void requestIdAndServerTimingAreReturned() throws Exception {
+        mockMvc.perform(get("/users/{id}", user.getId()).header(Constants.REQUEST_ID_HEADER, "gateway-request-1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(Constants.REQUEST_ID_HEADER, "gateway-request-1"))
+                .andExpect(header().string(Constants.SERVER_TIMING_HEADER,
+                        matchesPattern("server;dur=[0-9.]+, db;dur=[0-9.]+;desc=\"[1-9][0-9]* statements\"")));
+
+        mockMvc.perform(get("/users/{id}", user.getId()))
+                .andExpect(header().string(Constants.REQUEST_ID_HEADER, matchesPattern("[0-9a-f-]{36}")));
+    }
+
+    private long serviceCount(String method, String state) {
+        Timer timer = meterRegistry.find(ServiceTimingInterceptor.METRIC)
+                .tags("class", "BookingServiceImpl", "method", method, "state", state, "exception", "none")
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
\ No newline at end of file
@@ -12,6 +12,7 @@ import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -124,4 +125,29 @@ public class UserServiceIntegrationTest {
 
         assertThrows(ShareItException.NotFoundException.class, () -> userService.getById(createdUser.getId()));
     }
-}
\ No newline at end of file
+
+    @Test // Тест на постраничное получение пользователей по курсору и потоковую выгрузку
+    @DisplayName("Интеграционный тест: курсорная пагинация и выгрузка пользователей")
+    void keysetPageAndExportIntegrationTest() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(userService.create(User.builder()
+                    .name("Page User " + i)
+                    .email("page" + i + "_" + System.currentTimeMillis() + "@test.com")
+                    .build()).getId());
+        }
+
+        List<UserDto> firstPage = userService.getPage(ids.get(0) - 1, 2);
+        List<UserDto> secondPage = userService.getPage(firstPage.get(1).getId(), 2);
+
+        assertEquals(List.of(ids.get(0), ids.get(1)), firstPage.stream().map(UserDto::getId).toList());
+        assertEquals(List.of(ids.get(2), ids.get(3)), secondPage.stream().map(UserDto::getId).toList());
+        assertTrue(userService.getPage(ids.get(4), 2).isEmpty());
+
+        List<Long> exported = new ArrayList<>();
+        userService.exportAll(user -> exported.add(user.getId()));
+
+        assertTrue(exported.containsAll(ids));
+        assertEquals(userService.getAll().size(), exported.size());
+    }
+}
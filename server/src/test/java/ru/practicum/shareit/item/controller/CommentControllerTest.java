@@ -23,6 +23,7 @@ import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -89,8 +90,8 @@ class CommentControllerTest {
     @Test
     @DisplayName("Error when adding comment without booking")
     void errorWhenAddingCommentWithoutBooking() {
-        when(bookingRepository.hasUserBookedItem(anyLong(), anyLong(), ArgumentMatchers.any(LocalDateTime.class)))
-                .thenReturn(false);
+        when(bookingRepository.findEligibleAuthorName(anyLong(), anyLong(), ArgumentMatchers.any(LocalDateTime.class)))
+                .thenReturn(Optional.empty());
 
         CommentDto commentDto = CommentDto.builder()
                 .text("I haven't rented this item")
@@ -103,8 +104,8 @@ class CommentControllerTest {
     @Test
     @DisplayName("Error when adding comment with future booking")
     void errorWhenAddingCommentWithFutureBooking() {
-        when(bookingRepository.hasUserBookedItem(anyLong(), anyLong(), ArgumentMatchers.any(LocalDateTime.class)))
-                .thenReturn(false);
+        when(bookingRepository.findEligibleAuthorName(anyLong(), anyLong(), ArgumentMatchers.any(LocalDateTime.class)))
+                .thenReturn(Optional.empty());
 
         LocalDateTime start = LocalDateTime.now().plusDays(1);
         LocalDateTime end = LocalDateTime.now().plusDays(2);
@@ -12,6 +12,7 @@ import ru.practicum.shareit.ShareItServerApp;
 import ru.practicum.shareit.booking.controller.BookingController;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingShortDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.controller.UserController;
@@ -19,9 +20,11 @@ import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -72,11 +75,10 @@ class ItemBookingInfoTest {
     }
 
     @Test // Тесты на получение бронирований для вещи владельца
-    @Transactional
     @DisplayName("Item should show booking info for owner")
     void itemShouldShowBookingInfoForOwner() {
-        LocalDateTime nearFutureStart = LocalDateTime.now().plusHours(1);
-        LocalDateTime nearFutureEnd = LocalDateTime.now().plusHours(2);
+        LocalDateTime nearFutureStart = LocalDateTime.now().plusHours(1).truncatedTo(ChronoUnit.SECONDS);
+        LocalDateTime nearFutureEnd = LocalDateTime.now().plusHours(2).truncatedTo(ChronoUnit.SECONDS);
         BookingDto nearFutureBooking = BookingDto.builder()
                 .itemId(itemDto.getId())
                 .start(nearFutureStart)
@@ -85,8 +87,8 @@ class ItemBookingInfoTest {
         BookingDto createdNearFutureBooking = bookingController.createBooking(nearFutureBooking, bookerDto.getId());
         bookingController.approve(createdNearFutureBooking.getId(), ownerDto.getId(), true);
 
-        LocalDateTime farFutureStart = LocalDateTime.now().plusDays(1);
-        LocalDateTime farFutureEnd = LocalDateTime.now().plusDays(2);
+        LocalDateTime farFutureStart = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        LocalDateTime farFutureEnd = LocalDateTime.now().plusDays(2).truncatedTo(ChronoUnit.SECONDS);
         BookingDto farFutureBooking = BookingDto.builder()
                 .itemId(itemDto.getId())
                 .start(farFutureStart)
@@ -113,7 +115,6 @@ class ItemBookingInfoTest {
     }
 
     @Test // Тесты на получение бронирований для вещей кроме вещей владельца
-    @Transactional
     @DisplayName("Item should not show booking info for non-owner")
     void itemShouldNotShowBookingInfoForNonOwner() {
         LocalDateTime start = LocalDateTime.now().plusDays(1);
@@ -187,4 +188,43 @@ class ItemBookingInfoTest {
         assertEquals(start2, secondItemResult.getNextBooking().getStart());
         assertEquals(end2, secondItemResult.getNextBooking().getEnd());
     }
+
+    @Test // Тест на занятость вещи: без @Transactional, чтобы индекс обновлялся после фиксации
+    @DisplayName("Item availability should reflect committed bookings")
+    void itemAvailabilityShouldReflectCommittedBookings() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        LocalDateTime end = start.plusDays(1);
+        BookingDto bookingDto = BookingDto.builder()
+                .itemId(itemDto.getId())
+                .start(start)
+                .end(end)
+                .build();
+        BookingDto created = bookingController.createBooking(bookingDto, bookerDto.getId());
+
+        ItemAvailabilityDto waiting = itemController.getAvailability(itemDto.getId(), ownerDto.getId(),
+                start.plusHours(1), end.plusHours(1));
+        assertFalse(waiting.getAvailable());
+        assertNull(waiting.getNextBooking());
+
+        bookingController.approve(created.getId(), ownerDto.getId(), true);
+
+        ItemAvailabilityDto forOwner = itemController.getAvailability(itemDto.getId(), ownerDto.getId(),
+                start.minusHours(2), start.minusHours(1));
+        assertTrue(forOwner.getAvailable());
+        assertEquals(created.getId(), forOwner.getNextBooking().getId());
+
+        ItemAvailabilityDto forBooker = itemController.getAvailability(itemDto.getId(), bookerDto.getId(),
+                start, end);
+        assertFalse(forBooker.getAvailable());
+        assertNull(forBooker.getNextBooking());
+
+        bookingController.approve(bookingController.createBooking(BookingDto.builder()
+                .itemId(itemDto.getId())
+                .start(end.plusDays(1))
+                .end(end.plusDays(2))
+                .build(), bookerDto.getId()).getId(), ownerDto.getId(), false);
+
+        assertTrue(itemController.getAvailability(itemDto.getId(), bookerDto.getId(),
+                end.plusDays(1), end.plusDays(2)).getAvailable());
+    }
 }
\ No newline at end of file
@@ -265,35 +265,35 @@ class ItemControllerTest {
                     .available(true)
                     .build();
 
-            when(itemService.search("Test"))
+            when(itemService.search("Test", 0, 10))
                     .thenReturn(Collections.singletonList(testItem));
 
-            when(itemService.search("Unique"))
+            when(itemService.search("Unique", 0, 10))
                     .thenReturn(Collections.singletonList(specialItem));
 
-            when(itemService.search("Item"))
+            when(itemService.search("Item", 0, 10))
                     .thenReturn(Arrays.asList(testItem, specialItem));
 
-            when(itemService.search("Unavailable"))
+            when(itemService.search("Unavailable", 0, 10))
                     .thenReturn(Collections.emptyList());
 
-            when(itemService.search(""))
+            when(itemService.search("", 0, 10))
                     .thenReturn(Collections.emptyList());
 
-            List<ItemDto> results = itemController.search("Test");
+            List<ItemDto> results = itemController.search("Test", 0, 10);
             assertTrue(results.stream().anyMatch(item -> item.getName().equals("Test Item")));
 
-            results = itemController.search("Unique");
+            results = itemController.search("Unique", 0, 10);
             assertTrue(results.stream().anyMatch(item -> item.getName().equals("Special Item")));
 
-            results = itemController.search("Item");
+            results = itemController.search("Item", 0, 10);
             assertTrue(results.stream().anyMatch(item -> item.getName().equals("Test Item")));
             assertTrue(results.stream().anyMatch(item -> item.getName().equals("Special Item")));
 
-            results = itemController.search("Unavailable");
+            results = itemController.search("Unavailable", 0, 10);
             assertEquals(0, results.size());
 
-            results = itemController.search("");
+            results = itemController.search("", 0, 10);
             assertEquals(0, results.size());
         }
     }